@@ -18,16 +18,52 @@ repositories {
 	mavenCentral()
 }
 
+// Benchmarks live in src/jmh/java and run with `./gradlew jmh` (JMH options via --args="...").
+val jmh by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-webmvc")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	implementation("org.springframework.boot:spring-boot-starter-jdbc")
 	implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
+	runtimeOnly("com.h2database:h2")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("jmh") {
+	group = "benchmark"
+	description = "Runs the JMH benchmarks."
+	classpath = jmh.runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+}
+
+tasks.register<JavaExec>("loadBenchmark") {
+	group = "benchmark"
+	description = "Compares platform and virtual request threads under simulated repository latency."
+	classpath = jmh.runtimeClasspath
+	mainClass = "com.taskmanagement.benchmarks.LoadBenchmark"
+}
+
+tasks.register<JavaExec>("footprint") {
+	group = "benchmark"
+	description = "Compares retained memory per task of the object and columnar task stores."
+	classpath = jmh.runtimeClasspath
+	mainClass = "com.taskmanagement.benchmarks.FootprintComparison"
+	maxHeapSize = "4g"
+}
@@ -0,0 +1,115 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.repositories.ColumnarTaskRepository;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.TaskRepository;
+import com.taskmanagement.services.UlidTaskIdGenerator;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Retained memory per task of the object-per-task store versus the columnar one, with the
+ * columnar store's text on and off the heap.
+ * <p>
+ * Each store is filled with the same tasks (ULID ids, as the service generates them), then
+ * heap and direct-buffer usage are read after forcing garbage collection. Run with
+ * {@code ./gradlew footprint --args="--tasks=1000000"}.
+ */
+public final class FootprintComparison {
+
+    private FootprintComparison() {
+    }
+
+    record Result(String store, long heapBytes, long directBytes, int tasks) {
+
+        double bytesPerTask() {
+            return (double) (heapBytes + directBytes) / tasks;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        int taskCount = Integer.parseInt(options.getOrDefault("tasks", "1000000"));
+
+        List<Task> tasks = tasks(taskCount);
+        List<Result> results = new ArrayList<>();
+        results.add(measure("objects", InMemoryTaskRepository::new, tasks));
+        results.add(measure("columnar", () -> new ColumnarTaskRepository(false), tasks));
+        results.add(measure("columnar-off-heap", () -> new ColumnarTaskRepository(true), tasks));
+
+        System.out.printf(Locale.ROOT, "%n%,d tasks%n", taskCount);
+        System.out.printf(Locale.ROOT, "%-18s %12s %12s %12s%n", "store", "heap MB", "direct MB", "bytes/task");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-18s %12.1f %12.1f %12.1f%n", result.store(),
+                    result.heapBytes() / 1e6, result.directBytes() / 1e6, result.bytesPerTask());
+        }
+    }
+
+    private static List<Task> tasks(int count) {
+        UlidTaskIdGenerator ids = new UlidTaskIdGenerator();
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(TaskFixtures.task(ids.nextId(), random, TaskFixtures.StatusMix.UNIFORM));
+        }
+        return tasks;
+    }
+
+    private static Result measure(String name, Supplier<TaskRepository> factory, List<Task> tasks)
+            throws InterruptedException {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+
+        TaskRepository repository = factory.get();
+        // Saved copies, so the store retains its own strings rather than sharing the fixtures'.
+        for (Task task : tasks) {
+            repository.save(new Task(new String(task.getId()), task.getTitle() == null ? null : new String(task.getTitle()),
+                    task.getDescription() == null ? null : new String(task.getDescription()),
+                    task.getStatus(), task.getDueDate()));
+        }
+
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+        // Keeps the store reachable until both readings are taken.
+        if (repository.countByStatus(tasks.getFirst().getStatus()) == 0) {
+            throw new IllegalStateException("Store lost its tasks");
+        }
+        return new Result(name, heap, direct, tasks.size());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,165 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.Application;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Localhost load test comparing Tomcat on its platform-thread pool with virtual-thread
+ * request handling, while every repository call sleeps to simulate a remote store.
+ * <p>
+ * For each mode it starts the application on a random port, warms up, then runs a closed
+ * loop of concurrent clients against {@code GET /tasks} and reports throughput and latency
+ * percentiles. Run with
+ * {@code ./gradlew loadBenchmark --args="--clients=1000 --duration=20s --latency=20ms"}.
+ */
+public final class LoadBenchmark {
+
+    private static final int SEED_TASKS = 1_000;
+
+    private LoadBenchmark() {
+    }
+
+    record Result(String mode, long requests, long errors, double seconds, long p50Nanos, long p99Nanos, long maxNanos) {
+
+        double throughput() {
+            return requests / seconds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "20s"));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "5s"));
+        String latency = options.getOrDefault("latency", "20ms");
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            results.add(run(virtualThreads, clients, warmup, duration, latency));
+        }
+
+        System.out.printf(Locale.ROOT, "%nGET /tasks, %d clients, %s repository latency, %ds%n",
+                clients, latency, duration.toSeconds());
+        System.out.printf(Locale.ROOT, "%-10s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", result.mode(), result.throughput(),
+                    result.p50Nanos() / 1e6, result.p99Nanos() / 1e6, result.maxNanos() / 1e6, result.errors());
+        }
+    }
+
+    private static Result run(boolean virtualThreads, int clients, Duration warmup, Duration duration, String latency)
+            throws InterruptedException, ExecutionException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext app = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--task-store.simulated-latency=" + latency)) {
+
+            InMemoryTaskRepository store = app.getBean(InMemoryTaskRepository.class);
+            Random random = new Random(42);
+            for (int i = 0; i < SEED_TASKS; i++) {
+                store.save(TaskFixtures.task(TaskFixtures.id(i), random, TaskFixtures.StatusMix.UNIFORM));
+            }
+
+            URI uri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/tasks?size=10");
+            drive(mode, uri, clients, warmup);
+            return drive(mode, uri, clients, duration);
+        }
+    }
+
+    private static Result drive(String mode, URI uri, int clients, Duration duration)
+            throws InterruptedException, ExecutionException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<Future<long[]>> loops = new ArrayList<>(clients);
+        long errors = 0;
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+            for (int c = 0; c < clients; c++) {
+                loops.add(executor.submit(() -> clientLoop(client, request, deadline)));
+            }
+
+            List<long[]> perClient = new ArrayList<>(clients);
+            for (Future<long[]> loop : loops) {
+                long[] latencies = loop.get();
+                // The last slot carries the client's error count.
+                errors += latencies[latencies.length - 1];
+                perClient.add(Arrays.copyOf(latencies, latencies.length - 1));
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            if (all.length == 0) {
+                return new Result(mode, 0, errors, seconds, 0, 0, 0);
+            }
+            return new Result(mode, all.length, errors, seconds,
+                    all[(int) (all.length * 0.50)], all[(int) Math.min(all.length - 1, all.length * 0.99)],
+                    all[all.length - 1]);
+        }
+    }
+
+    private static long[] clientLoop(HttpClient client, HttpRequest request, long deadline) throws InterruptedException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                    continue;
+                }
+            } catch (IOException ex) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        long[] result = Arrays.copyOf(latencies, count + 1);
+        result[count] = errors;
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
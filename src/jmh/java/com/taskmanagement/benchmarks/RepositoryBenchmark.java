@@ -0,0 +1,157 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.JdbcTaskRepository;
+import com.taskmanagement.repositories.TaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the repository hot paths by store size and status mix, for the
+ * in-memory store and the JDBC store on an embedded H2 database side by side. Add
+ * {@code -prof gc} to see bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SAMPLES = 1 << 12;
+    private static final int BATCH = 128;
+
+    public enum Store {
+        IN_MEMORY, JDBC
+    }
+
+    @Param({"IN_MEMORY", "JDBC"})
+    Store store;
+
+    @Param({"1000", "100000", "1000000"})
+    int storeSize;
+
+    @Param({"UNIFORM", "MOSTLY_DONE"})
+    TaskFixtures.StatusMix statusMix;
+
+    private final Random random = new Random(42);
+    private TaskRepository repository;
+    private HikariDataSource dataSource;
+    private String[] lookups;
+    private Task[] replacements;
+    private List<Task> batches;
+    private TaskCursor middle;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        if (store == Store.JDBC) {
+            dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+            repository = new JdbcTaskRepository(dataSource);
+        } else {
+            repository = new InMemoryTaskRepository();
+        }
+        List<Task> load = new ArrayList<>(BATCH);
+        for (int i = 0; i < storeSize; i++) {
+            load.add(TaskFixtures.task(TaskFixtures.id(i), random, statusMix));
+            if (load.size() == BATCH || i == storeSize - 1) {
+                repository.saveAll(load);
+                load.clear();
+            }
+        }
+
+        // Inputs are built up front so the benchmarks measure the store, not the fixtures.
+        lookups = new String[SAMPLES];
+        replacements = new Task[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            lookups[i] = TaskFixtures.id(random.nextInt(storeSize));
+            replacements[i] = TaskFixtures.task(TaskFixtures.id(random.nextInt(storeSize)), random, statusMix);
+        }
+
+        batches = Arrays.asList(replacements);
+
+        List<Task> firstHalf = repository.findAll(TaskFilter.ALL, 0, storeSize / 2);
+        middle = TaskCursor.after(firstHalf.get(firstHalf.size() - 1));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (dataSource != null) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    public Task save() {
+        return repository.save(replacements[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public List<Task> saveAllBatch() {
+        int from = (next++ * BATCH) & (SAMPLES - 1);
+        return repository.saveAll(batches.subList(from, from + BATCH));
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repository.findById(lookups[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public List<Task> findAllFirstPage() {
+        return repository.findAll(TaskFilter.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> findAllPendingFirstPage() {
+        return repository.findAll(TaskFilter.of(TaskStatus.PENDING), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> findAllDueNextWeek() {
+        LocalDate today = LocalDate.now();
+        return repository.findAll(new TaskFilter(null, today, today.plusDays(8), false), 0, 0);
+    }
+
+    @Benchmark
+    public List<Task> findAllMiddlePage() {
+        return repository.findAll(TaskFilter.ALL, storeSize / 2 / PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> findAllAfterMiddleCursor() {
+        return repository.findAllAfter(TaskFilter.ALL, middle, PAGE_SIZE);
+    }
+}
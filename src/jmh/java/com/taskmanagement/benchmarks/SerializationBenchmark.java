@@ -0,0 +1,102 @@
+package com.taskmanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanagement.config.JsonConfiguration;
+import com.taskmanagement.controllers.TaskController;
+import com.taskmanagement.controllers.TaskJsonCache;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.dto.response.TaskResponse;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.services.TaskChangeFeed;
+import com.taskmanagement.services.TaskServiceImpl;
+import com.taskmanagement.services.UlidTaskIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a page of tasks into a response body: the repository page mapped
+ * to {@link TaskResponse} and serialized by Jackson, Jackson serialization alone, and
+ * {@code TaskController.list} assembling the page from pre-encoded fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    private static final int STORE_SIZE = 10_000;
+
+    @Param({"10", "100", "1000"})
+    int pageSize;
+
+    private TaskServiceImpl service;
+    private TaskController controller;
+    private ObjectWriter writer;
+    private List<TaskResponse> page;
+
+    @Setup
+    public void setUp() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Random random = new Random(42);
+        for (int i = 0; i < STORE_SIZE; i++) {
+            repository.save(TaskFixtures.task(TaskFixtures.id(i), random, TaskFixtures.StatusMix.UNIFORM));
+        }
+        service = new TaskServiceImpl(repository, new UlidTaskIdGenerator(), new TaskMetrics(repository),
+                new TaskChangeFeed(1024));
+        // list() uses neither the validator nor the importer.
+        ObjectMapper objectMapper = new JsonConfiguration().taskObjectMapper();
+        controller = new TaskController(service, null, null, new TaskJsonCache(objectMapper, STORE_SIZE),
+                objectMapper);
+        controller.list(null, 0, pageSize, null, null, null, false, null);
+
+        writer = objectMapper.writerFor(new TypeReference<List<TaskResponse>>() {
+                });
+        page = list();
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapPage() {
+        return list();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(list());
+    }
+
+    @Benchmark
+    public byte[] cachedPage() {
+        return controller.list(null, 0, pageSize, null, null, null, false, null).getBody();
+    }
+
+    private List<TaskResponse> list() {
+        return service.list(TaskFilter.ALL, 0, pageSize).stream()
+                .map(task -> new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getStatus(), task.getDueDate()))
+                .toList();
+    }
+}
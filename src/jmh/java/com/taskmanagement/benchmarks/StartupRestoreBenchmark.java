@@ -0,0 +1,118 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.journal.JournalDurability;
+import com.taskmanagement.repositories.journal.TaskJournal;
+import com.taskmanagement.repositories.journal.TaskSnapshotStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Time for a fresh repository to become ready to serve: restoring the latest snapshot
+ * versus replaying the full journal history for the same store contents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StartupRestoreBenchmark {
+
+    private static final String[] TITLES = {"Review PR", "Write docs", "Fix bug", "Release", "Triage"};
+
+    @Param({"100000", "1000000", "3000000"})
+    int taskCount;
+
+    // Updates per task in the journal history, on top of the initial create
+    @Param({"2"})
+    int updatesPerTask;
+
+    private Path root;
+    private Path journalDir;
+    private Path snapshotDir;
+    // Opened once per trial: every open starts a new empty segment, which would otherwise
+    // grow the history each invocation replays.
+    private TaskJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("restore-bench");
+        journalDir = root.resolve("journal");
+        snapshotDir = root.resolve("snapshots");
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDate today = LocalDate.now();
+
+        try (TaskJournal history = openJournal()) {
+            InMemoryTaskRepository repository = new InMemoryTaskRepository(history);
+            String[] ids = new String[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                ids[i] = UUID.randomUUID().toString();
+            }
+            for (int round = 0; round <= updatesPerTask; round++) {
+                for (String id : ids) {
+                    repository.save(new Task(
+                            id,
+                            TITLES[random.nextInt(TITLES.length)],
+                            random.nextBoolean() ? null : "Details for " + id.substring(0, 8),
+                            statuses[random.nextInt(statuses.length)],
+                            today.plusDays(1 + random.nextInt(365))
+                    ));
+                }
+            }
+
+            new TaskSnapshotStore(snapshotDir).write(0, 0,
+                    repository.findAll(TaskFilter.ALL, 0, 0));
+        }
+        journal = openJournal();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public InMemoryTaskRepository restoreFromSnapshot() {
+        return new InMemoryTaskRepository(null, new TaskSnapshotStore(snapshotDir));
+    }
+
+    @Benchmark
+    public InMemoryTaskRepository replayJournal() {
+        return new InMemoryTaskRepository(journal);
+    }
+
+    private TaskJournal openJournal() {
+        return new TaskJournal(journalDir, JournalDurability.BUFFERED, Duration.ofMillis(10), 64L << 20, 8192);
+    }
+}
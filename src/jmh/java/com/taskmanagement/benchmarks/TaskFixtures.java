@@ -0,0 +1,49 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Deterministic task data for benchmarks.
+ */
+final class TaskFixtures {
+
+    private static final String[] TITLES = {"Review PR", "Write docs", "Fix bug", "Release", "Triage"};
+
+    /**
+     * How statuses are spread over the store, which decides how selective a status filter is.
+     */
+    enum StatusMix {
+        UNIFORM,
+        /** 80% DONE, 15% IN_PROGRESS, 5% PENDING, like a long-lived store. */
+        MOSTLY_DONE
+    }
+
+    private TaskFixtures() {
+    }
+
+    static Task task(String id, Random random, StatusMix mix) {
+        return new Task(
+                id,
+                TITLES[random.nextInt(TITLES.length)],
+                random.nextBoolean() ? null : "Details for " + id,
+                status(random, mix),
+                LocalDate.now().plusDays(1 + random.nextInt(365))
+        );
+    }
+
+    static String id(int i) {
+        return String.format("task-%08d", i);
+    }
+
+    private static TaskStatus status(Random random, StatusMix mix) {
+        int roll = random.nextInt(100);
+        return switch (mix) {
+            case UNIFORM -> TaskStatus.values()[roll % 3];
+            case MOSTLY_DONE -> roll < 80 ? TaskStatus.DONE : roll < 95 ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING;
+        };
+    }
+}
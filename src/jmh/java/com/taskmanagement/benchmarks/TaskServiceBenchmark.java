@@ -0,0 +1,106 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.ShardedTaskRepository;
+import com.taskmanagement.repositories.TaskRepository;
+import com.taskmanagement.services.TaskChangeFeed;
+import com.taskmanagement.services.TaskServiceImpl;
+import com.taskmanagement.services.UlidTaskIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@code TaskServiceImpl.create/update} as threads are added. The nested
+ * classes run the same benchmarks at 1, 4 and 16 threads; {@code hotTasks} controls how
+ * many tasks the updates are spread over, so 1 means every thread fights over one task,
+ * and {@code shards} how many independent stores the tasks are split over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class TaskServiceBenchmark {
+
+    @Param({"1", "1000"})
+    int hotTasks;
+
+    @Param({"1", "16"})
+    int shards;
+
+    private TaskServiceImpl service;
+    private String[] hotIds;
+    private Task[] changes;
+
+    // A fresh store per iteration keeps the create benchmark from measuring an ever larger map.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        TaskRepository repository = new InMemoryTaskRepository();
+        if (shards > 1) {
+            List<TaskRepository> stores = new ArrayList<>(shards);
+            for (int i = 0; i < shards; i++) {
+                stores.add(new InMemoryTaskRepository());
+            }
+            repository = new ShardedTaskRepository(stores);
+        }
+        service = new TaskServiceImpl(repository, new UlidTaskIdGenerator(), new TaskMetrics(repository),
+                new TaskChangeFeed(1024));
+
+        hotIds = new String[hotTasks];
+        for (int i = 0; i < hotTasks; i++) {
+            hotIds[i] = service.create(newTask("Hot " + i)).getId();
+        }
+        changes = new Task[]{
+                new Task(null, "Renamed", null, null, null),
+                new Task(null, null, "New description", null, null),
+                new Task(null, null, null, null, LocalDate.now().plusDays(30))
+        };
+    }
+
+    @Benchmark
+    public Task create() {
+        return service.create(newTask("Benchmark task"));
+    }
+
+    @Benchmark
+    public Task update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.update(hotIds[random.nextInt(hotIds.length)], changes[random.nextInt(changes.length)]);
+    }
+
+    private static Task newTask(String title) {
+        return new Task(null, title, null, null, LocalDate.now().plusDays(7));
+    }
+
+    @Threads(1)
+    public static class OneThread extends TaskServiceBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends TaskServiceBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends TaskServiceBenchmark {
+    }
+}
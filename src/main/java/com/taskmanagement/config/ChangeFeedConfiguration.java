@@ -0,0 +1,16 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.services.TaskChangeFeed;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfiguration {
+
+    @Bean
+    public TaskChangeFeed taskChangeFeed(ChangeFeedProperties properties) {
+        return new TaskChangeFeed(properties.capacity());
+    }
+}
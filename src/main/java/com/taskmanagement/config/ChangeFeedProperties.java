@@ -0,0 +1,12 @@
+package com.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("65536") int capacity,
+        @DefaultValue("5m") Duration connectionTimeout) {
+}
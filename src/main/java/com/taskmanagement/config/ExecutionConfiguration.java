@@ -0,0 +1,44 @@
+package com.taskmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for work done off the request thread, such as bulk import batches.
+ * <p>
+ * {@code spring.threads.virtual.enabled} switches Tomcat's request handling to virtual
+ * threads; the same switch gives background work one virtual thread per task, so batches
+ * blocked on a slow store do not pin a bounded pool. Otherwise a pool with one platform
+ * thread per core is used.
+ * <p>
+ * Server-Sent Events subscribers get an executor of their own that always uses virtual
+ * threads: sending to a slow client blocks, and on a shared bounded pool that would hold up
+ * other subscribers and import batches alike.
+ */
+@Configuration
+public class ExecutionConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService taskBackgroundExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-background-", 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "task-background-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService taskStreamExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-stream-", 1).factory());
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The one mapper for JSON the application reads and writes itself rather than through the
+ * MVC message converters: NDJSON export and import and the pre-encoded response cache. It
+ * is set up to match what the converters do with the same types. Dates are ISO strings,
+ * properties are in alphabetical order and unknown properties are ignored.
+ */
+@Configuration
+public class JsonConfiguration {
+
+    @Bean
+    public ObjectMapper taskObjectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.controllers.RequestTimingFilter;
+import com.taskmanagement.metrics.SlowRequestLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RequestTimingProperties.class)
+public class MetricsConfiguration {
+
+    @Bean
+    public SlowRequestLog slowRequestLog(RequestTimingProperties properties) {
+        return new SlowRequestLog(properties.slowThreshold(), properties.slowRequestCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "request-timing", name = "enabled", havingValue = "true")
+    public RequestTimingFilter requestTimingFilter(SlowRequestLog slowRequests) {
+        return new RequestTimingFilter(slowRequests);
+    }
+}
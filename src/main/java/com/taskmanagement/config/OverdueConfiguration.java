@@ -0,0 +1,25 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.TaskRepository;
+import com.taskmanagement.services.OverdueDetector;
+import com.taskmanagement.services.TaskChangeFeed;
+import com.taskmanagement.services.TaskService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OverdueProperties.class)
+public class OverdueConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "overdue", name = "enabled", havingValue = "true")
+    public OverdueDetector overdueDetector(TaskRepository repository, TaskService service, TaskChangeFeed feed,
+                                          TaskMetrics metrics, OverdueProperties properties) {
+        OverdueDetector detector = new OverdueDetector(repository, service, feed, metrics, properties.transitionTo());
+        detector.start(properties.pollInterval());
+        return detector;
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.domain.TaskStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("overdue")
+public record OverdueProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1s") Duration pollInterval,
+        TaskStatus transitionTo) {
+}
@@ -0,0 +1,145 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.repositories.CachingTaskRepository;
+import com.taskmanagement.repositories.ColumnarTaskRepository;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.JdbcTaskRepository;
+import com.taskmanagement.repositories.LatencySimulatingTaskRepository;
+import com.taskmanagement.repositories.ShardedTaskRepository;
+import com.taskmanagement.repositories.TaskRepository;
+import com.taskmanagement.repositories.WriteBehindTaskRepository;
+import com.taskmanagement.repositories.journal.TaskJournal;
+import com.taskmanagement.repositories.journal.TaskSnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(TaskStoreProperties.class)
+public class RepositoryConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "task-store.journal", name = "enabled", havingValue = "true")
+    public TaskJournal taskJournal(TaskStoreProperties properties) {
+        TaskStoreProperties.Journal journal = properties.journal();
+        return new TaskJournal(
+                journal.directory(),
+                journal.durability(),
+                journal.flushInterval(),
+                journal.segmentSize().toBytes(),
+                journal.queueCapacity()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task-store.snapshot", name = "enabled", havingValue = "true")
+    public TaskSnapshotStore taskSnapshotStore(TaskStoreProperties properties) {
+        return new TaskSnapshotStore(properties.snapshot().directory());
+    }
+
+    @Bean
+    public InMemoryTaskRepository inMemoryTaskRepository(ObjectProvider<TaskJournal> journal,
+                                                         ObjectProvider<TaskSnapshotStore> snapshots) {
+        return new InMemoryTaskRepository(journal.getIfAvailable(), snapshots.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task-store.columnar", name = "enabled", havingValue = "true")
+    public ColumnarTaskRepository columnarTaskRepository(TaskStoreProperties properties) {
+        if (properties.journal().enabled() || properties.snapshot().enabled()) {
+            throw new IllegalStateException("The columnar task store supports neither the journal nor snapshots");
+        }
+        return new ColumnarTaskRepository(properties.columnar().offHeapText());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "task-store.jdbc", name = "enabled", havingValue = "true")
+    public JdbcTaskRepository jdbcTaskRepository(DataSource dataSource, TaskStoreProperties properties) {
+        if (properties.journal().enabled() || properties.snapshot().enabled() || properties.columnar().enabled()
+                || properties.shards() > 1) {
+            throw new IllegalStateException("The JDBC task store cannot be combined with the journal, snapshots,"
+                    + " the columnar store or shards");
+        }
+        return new JdbcTaskRepository(dataSource);
+    }
+
+    /**
+     * Acknowledges writes from the in-memory store and copies them to the JDBC store in the
+     * background; closing it flushes what is still pending.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "task-store.write-behind", name = "enabled", havingValue = "true")
+    public WriteBehindTaskRepository writeBehindTaskRepository(InMemoryTaskRepository store,
+                                                               ObjectProvider<JdbcTaskRepository> jdbc,
+                                                               TaskStoreProperties properties) {
+        JdbcTaskRepository durable = jdbc.getIfAvailable();
+        if (durable == null) {
+            throw new IllegalStateException("Write-behind needs a durable store; enable task-store.jdbc");
+        }
+        TaskStoreProperties.WriteBehind writeBehind = properties.writeBehind();
+        return new WriteBehindTaskRepository(store, durable, writeBehind.capacity(), writeBehind.batchSize(),
+                writeBehind.flushInterval(), writeBehind.maxWait());
+    }
+
+    /**
+     * The repository the application talks to: the JDBC store, behind write-behind if
+     * enabled, or the columnar store if enabled, otherwise the in-memory one, split into
+     * shards if asked to and wrapped in whatever decorators the configuration asks for. The
+     * lookup cache goes outermost, so it also saves the simulated latency.
+     */
+    @Bean
+    @Primary
+    public TaskRepository taskRepository(InMemoryTaskRepository store, ObjectProvider<ColumnarTaskRepository> columnar,
+                                         ObjectProvider<JdbcTaskRepository> jdbc,
+                                         ObjectProvider<WriteBehindTaskRepository> writeBehind,
+                                         TaskStoreProperties properties) {
+        TaskRepository repository = writeBehind.getIfAvailable();
+        if (repository == null) {
+            repository = jdbc.getIfAvailable();
+        }
+        if (repository == null) {
+            repository = columnar.getIfAvailable();
+        }
+        if (repository == null) {
+            repository = store;
+        }
+        if (properties.shards() > 1) {
+            repository = shard(repository, properties);
+        }
+        if (properties.simulatedLatency().isPositive()) {
+            repository = new LatencySimulatingTaskRepository(repository, properties.simulatedLatency());
+        }
+        if (properties.cache().enabled()) {
+            repository = new CachingTaskRepository(repository, properties.cache().capacity());
+        }
+        return repository;
+    }
+
+    // The configured store becomes the first shard; the others are fresh stores of the same kind.
+    private static TaskRepository shard(TaskRepository first, TaskStoreProperties properties) {
+        if (properties.journal().enabled() || properties.snapshot().enabled()) {
+            throw new IllegalStateException("A sharded task store supports neither the journal nor snapshots");
+        }
+        List<TaskRepository> shards = new ArrayList<>(properties.shards());
+        shards.add(first);
+        while (shards.size() < properties.shards()) {
+            shards.add(properties.columnar().enabled()
+                    ? new ColumnarTaskRepository(properties.columnar().offHeapText())
+                    : new InMemoryTaskRepository());
+        }
+        return new ShardedTaskRepository(shards);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "task-store.snapshot", name = "enabled", havingValue = "true")
+    public SnapshotScheduler snapshotScheduler(InMemoryTaskRepository repository, TaskStoreProperties properties) {
+        return new SnapshotScheduler(repository, properties.snapshot().interval());
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("request-timing")
+public record RequestTimingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration slowThreshold,
+        @DefaultValue("100") int slowRequestCapacity) {
+}
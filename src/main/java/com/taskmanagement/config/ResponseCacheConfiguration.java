@@ -0,0 +1,17 @@
+package com.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.controllers.TaskJsonCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfiguration {
+
+    @Bean
+    public TaskJsonCache taskJsonCache(ResponseCacheProperties properties, ObjectMapper taskObjectMapper) {
+        return new TaskJsonCache(taskObjectMapper, properties.capacity());
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("response-cache")
+public record ResponseCacheProperties(@DefaultValue("100000") int capacity) {
+}
@@ -0,0 +1,55 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import com.taskmanagement.repositories.journal.TaskSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpoints the repository on a background thread at a fixed delay.
+ */
+public class SnapshotScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final InMemoryTaskRepository repository;
+    private final ScheduledExecutorService executor;
+
+    public SnapshotScheduler(InMemoryTaskRepository repository, Duration interval) {
+        this.repository = repository;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::checkpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkpoint() {
+        try {
+            long start = System.nanoTime();
+            TaskSnapshotStore.SnapshotInfo snapshot = repository.checkpoint();
+            log.info("Wrote snapshot of {} tasks at generation {} in {} ms", snapshot.taskCount(),
+                    snapshot.generation(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive; the next run retries with a fresh snapshot.
+            log.error("Snapshot failed", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.repositories.journal.JournalDurability;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("task-store")
+public record TaskStoreProperties(
+        @DefaultValue Journal journal,
+        @DefaultValue Snapshot snapshot,
+        @DefaultValue Columnar columnar,
+        @DefaultValue Jdbc jdbc,
+        @DefaultValue WriteBehind writeBehind,
+        @DefaultValue Cache cache,
+        @DefaultValue("1") int shards,
+        @DefaultValue("0ms") Duration simulatedLatency) {
+
+    public record Journal(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/journal") Path directory,
+            @DefaultValue("batched") JournalDurability durability,
+            @DefaultValue("10ms") Duration flushInterval,
+            @DefaultValue("64MB") DataSize segmentSize,
+            @DefaultValue("8192") int queueCapacity) {
+    }
+
+    public record Snapshot(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/snapshots") Path directory,
+            @DefaultValue("5m") Duration interval) {
+    }
+
+    public record Columnar(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("false") boolean offHeapText) {
+    }
+
+    public record Jdbc(
+            @DefaultValue("false") boolean enabled) {
+    }
+
+    public record WriteBehind(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("100000") int capacity,
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("100ms") Duration flushInterval,
+            @DefaultValue("1s") Duration maxWait) {
+    }
+
+    public record Cache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10000") int capacity) {
+    }
+}
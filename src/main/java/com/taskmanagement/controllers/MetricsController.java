@@ -0,0 +1,36 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.metrics.SlowRequestLog;
+import com.taskmanagement.metrics.TaskMetrics;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class MetricsController {
+
+    static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final TaskMetrics metrics;
+    private final SlowRequestLog slowRequests;
+
+    public MetricsController(TaskMetrics metrics, SlowRequestLog slowRequests) {
+        this.metrics = metrics;
+        this.slowRequests = slowRequests;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok()
+                .contentType(PROMETHEUS_TEXT)
+                .body(metrics.scrape());
+    }
+
+    @GetMapping("/metrics/slow-requests")
+    public ResponseEntity<List<SlowRequestLog.SlowRequest>> slowRequests() {
+        return ResponseEntity.ok(slowRequests.slowest());
+    }
+}
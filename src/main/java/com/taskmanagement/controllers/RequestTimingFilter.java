@@ -0,0 +1,61 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.metrics.RequestTiming;
+import com.taskmanagement.metrics.SlowRequestLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Times each request's phases, reports them in a {@code Server-Timing} header and keeps
+ * slow requests in a {@link SlowRequestLog}.
+ * <p>
+ * The header has to follow serialization, so the body is buffered until the chain
+ * returns. Streaming endpoints are skipped for that reason.
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final Set<String> STREAMING_PATHS = Set.of("/tasks/export", "/tasks/changes");
+
+    private final SlowRequestLog slowRequests;
+
+    public RequestTimingFilter(SlowRequestLog slowRequests) {
+        this.slowRequests = slowRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return STREAMING_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Instant startedAt = Instant.now();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            long totalNanos = timing.finish();
+            buffered.setHeader(SERVER_TIMING_HEADER, timing.toServerTiming());
+            buffered.copyBodyToResponse();
+
+            if (slowRequests.isSlow(totalNanos)) {
+                String uri = request.getQueryString() == null
+                        ? request.getRequestURI()
+                        : request.getRequestURI() + "?" + request.getQueryString();
+                slowRequests.add(new SlowRequestLog.SlowRequest(startedAt, request.getMethod(), uri,
+                        buffered.getStatus(), totalNanos / 1e6, timing.phasesMillis()));
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.taskmanagement.controllers;
 
 import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.exceptions.TaskVersionConflictException;
+import com.taskmanagement.metrics.TaskMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,8 +16,15 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class RestExceptionHandler {
 
+    private final TaskMetrics metrics;
+
+    public RestExceptionHandler(TaskMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<?> handleTaskNotFound(TaskNotFoundException ex) {
+        metrics.recordError(ex.getClass());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of(
                         "timestamp", Instant.now(),
@@ -25,8 +34,21 @@ public class RestExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<?> handleVersionConflict(TaskVersionConflictException ex) {
+        metrics.recordError(ex.getClass());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of(
+                        "timestamp", Instant.now(),
+                        "status", 412,
+                        "error", "Precondition Failed",
+                        "message", ex.getMessage()
+                ));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<?> handleBadRequest(IllegalArgumentException ex) {
+        metrics.recordError(ex.getClass());
         return ResponseEntity.badRequest()
                 .body(Map.of(
                         "timestamp", Instant.now(),
@@ -39,6 +61,7 @@ public class RestExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
+        metrics.recordError(ex.getClass());
         String msg = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -0,0 +1,32 @@
+package com.taskmanagement.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class TaskChangeController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final TaskChangeStreams streams;
+
+    TaskChangeController(TaskChangeStreams streams) {
+        this.streams = streams;
+    }
+
+    @GetMapping(value = "/tasks/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return streams.subscribe(lastEventId == null || lastEventId.isBlank() ? null : parse(lastEventId));
+    }
+
+    private static long parse(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid Last-Event-ID header");
+        }
+    }
+}
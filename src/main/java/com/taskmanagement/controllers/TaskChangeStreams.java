@@ -0,0 +1,162 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.config.ChangeFeedProperties;
+import com.taskmanagement.dto.response.TaskChangeResponse;
+import com.taskmanagement.services.TaskChange;
+import com.taskmanagement.services.TaskChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans the change feed out to Server-Sent Events subscribers.
+ * <p>
+ * Idle subscribers hold no thread. A change only makes the writer flip a flag; one
+ * dispatch pass on the stream executor then schedules a drain for each subscriber,
+ * which sends what that subscriber has not seen and returns. At most one drain per
+ * subscriber runs at a time, each on its own virtual thread, so a client that reads
+ * slowly only holds up itself. A subscriber that falls more than the feed's capacity behind
+ * gets a {@code resync} event carrying the sequence to resume from once it has reloaded,
+ * and is disconnected.
+ */
+@Component
+class TaskChangeStreams {
+
+    static final String RESYNC_EVENT = "resync";
+    private static final int MAX_BATCH = 256;
+
+    private final TaskChangeFeed feed;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    TaskChangeStreams(TaskChangeFeed feed, ExecutorService taskStreamExecutor, ChangeFeedProperties properties) {
+        this.feed = feed;
+        this.executor = taskStreamExecutor;
+        this.timeoutMillis = properties.connectionTimeout().toMillis();
+        feed.onChange(this::changed);
+    }
+
+    /**
+     * Streams changes after {@code lastEventId}, or only future changes when it is null.
+     */
+    SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter,
+                lastEventId == null ? feed.lastSequence() : lastEventId);
+        // Clients reconnect with Last-Event-ID after a timeout, which doubles as a liveness check.
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onError(error -> close(subscription));
+        subscriptions.add(subscription);
+        schedule(subscription);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void changed() {
+        if (!subscriptions.isEmpty() && dispatchPending.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        // Cleared first, so a change published during the pass triggers another one.
+        dispatchPending.set(false);
+        subscriptions.forEach(this::schedule);
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.pending.getAndIncrement() == 0) {
+            executor.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        int missed = 1;
+        do {
+            send(subscription);
+            missed = subscription.pending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void send(Subscription subscription) {
+        if (subscription.closed) {
+            return;
+        }
+        try {
+            while (true) {
+                List<TaskChange> changes = feed.readAfter(subscription.position, MAX_BATCH);
+                if (changes == null) {
+                    resync(subscription);
+                    return;
+                }
+                if (changes.isEmpty()) {
+                    return;
+                }
+                for (TaskChange change : changes) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(toResponse(change), MediaType.APPLICATION_JSON));
+                    subscription.position = change.sequence();
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away, or the emitter already completed.
+            close(subscription);
+            subscription.emitter.completeWithError(ex);
+        }
+    }
+
+    private void resync(Subscription subscription) throws IOException {
+        // No event id: a reconnect must not resume past changes the client never saw.
+        subscription.emitter.send(SseEmitter.event()
+                .name(RESYNC_EVENT)
+                .data(Map.of("sequence", feed.lastSequence()), MediaType.APPLICATION_JSON));
+        close(subscription);
+        subscription.emitter.complete();
+    }
+
+    private void close(Subscription subscription) {
+        subscription.closed = true;
+        subscriptions.remove(subscription);
+    }
+
+    private static TaskChangeResponse toResponse(TaskChange change) {
+        return new TaskChangeResponse(
+                change.sequence(),
+                change.type().name(),
+                change.id(),
+                change.version(),
+                change.task() == null ? null : TaskController.toResponse(change.task()));
+    }
+
+    private static final class Subscription {
+
+        final SseEmitter emitter;
+        final AtomicInteger pending = new AtomicInteger();
+        // Only touched by the subscription's current drain; drains are ordered through pending.
+        long position;
+        volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
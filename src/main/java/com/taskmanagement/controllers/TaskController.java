@@ -1,26 +1,76 @@
 package com.taskmanagement.controllers;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.dto.request.BatchUpdateTaskRequest;
 import com.taskmanagement.dto.request.CreateTaskRequest;
 import com.taskmanagement.dto.request.UpdateTaskRequest;
+import com.taskmanagement.dto.response.BatchItemResponse;
+import com.taskmanagement.dto.response.BatchResponse;
+import com.taskmanagement.dto.response.ImportResponse;
 import com.taskmanagement.dto.response.TaskResponse;
+import com.taskmanagement.dto.response.TaskStatsResponse;
+import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.exceptions.TaskVersionConflictException;
+import com.taskmanagement.metrics.RequestTiming;
+import com.taskmanagement.services.BatchResult;
 import com.taskmanagement.services.TaskService;
+import com.taskmanagement.services.TaskStatistics;
+import com.taskmanagement.services.TaskUpdate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.taskmanagement.controllers.TaskRequests.toDomain;
+import static com.taskmanagement.controllers.TaskRequests.violations;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int MAX_SEARCH_SIZE = 1_000;
+
     private final TaskService taskService;
+    private final Validator validator;
+    private final TaskImporter taskImporter;
+    private final TaskJsonCache jsonCache;
+    private final ObjectWriter exportWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, Validator validator, TaskImporter taskImporter,
+                          TaskJsonCache jsonCache, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.validator = validator;
+        this.taskImporter = taskImporter;
+        this.jsonCache = jsonCache;
+        this.exportWriter = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     @PostMapping
@@ -30,70 +80,287 @@ public class TaskController {
 
         return ResponseEntity
                 .created(URI.create("/tasks/" + created.getId()))
+                .eTag(eTag(created))
                 .body(toResponse(created));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getById(@PathVariable("id") String id) {
+    public ResponseEntity<byte[]> getById(
+            @PathVariable("id") String id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Task task = taskService.getById(id);
-        return ResponseEntity.ok(toResponse(task));
+        String eTag = eTag(task);
+        if (matchesAny(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonCache.json(task));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> update(
             @PathVariable("id") String id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTaskRequest request) {
 
         Task updates = toDomain(request);
-        Task updated = taskService.update(id, updates);
+        Task updated = taskService.update(id, updates, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(toResponse(updated));
+        return ResponseEntity.ok()
+                .eTag(eTag(updated))
+                .body(toResponse(updated));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") String id) {
         taskService.delete(id);
+        jsonCache.evict(id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
-public ResponseEntity<List<TaskResponse>> list(
-         @RequestParam(name = "status", required = false) TaskStatus status,
-        @RequestParam(name = "page", defaultValue = "0") int page,
-        @RequestParam(name = "size", defaultValue = "10") int size)  {
+    public ResponseEntity<byte[]> list(
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "dueAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(name = "dueBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(name = "overdue", defaultValue = "false") boolean overdue,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-    List<Task> tasks = taskService.list(status, page, size);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor);
+        TaskFilter filter = new TaskFilter(status, dueAfter, dueBefore, overdue);
 
-    List<TaskResponse> response = tasks.stream()
-            .map(this::toResponse)
-            .toList();
+        // Read before the page so that a write racing with it changes the tag of the next poll.
+        // Overdue pages also change at midnight, with no write at all.
+        String eTag = "\"m" + taskService.modificationCount()
+                + (overdue ? "-" + LocalDate.now().toEpochDay() : "") + "\"";
+        if (matchesAny(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
-    return ResponseEntity.ok(response);
-}
+        List<Task> tasks = after == null
+                ? taskService.list(filter, page, size)
+                : taskService.list(filter, after, size);
 
-    /* ---------- Mapping helpers ---------- */
+        long mappingStart = RequestTiming.start();
+        byte[] response = jsonCache.jsonArray(tasks);
+        RequestTiming.record(RequestTiming.Phase.MAPPING, mappingStart);
 
-    private Task toDomain(CreateTaskRequest request) {
-        return new Task(
-                null,
-                request.getTitle(),
-                request.getDescription(),
-                request.getStatus(),
-                request.getDueDate()
-        );
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(TOTAL_COUNT_HEADER, Long.toString(taskService.count(filter)));
+        if (size > 0 && tasks.size() == size) {
+            builder.header(NEXT_CURSOR_HEADER, TaskCursor.after(tasks.get(tasks.size() - 1)).encode());
+        }
+        return builder.body(response);
     }
 
-    private Task toDomain(UpdateTaskRequest request) {
-        return new Task(
-                null,
-                request.getTitle(),
-                request.getDescription(),
-                request.getStatus(),
-                request.getDueDate()
-        );
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> stats(
+            @RequestParam(name = "days", defaultValue = "14") int days,
+            @RequestParam(name = "weeks", defaultValue = "8") int weeks) {
+
+        TaskStatistics stats = taskService.statistics(days, weeks);
+        return ResponseEntity.ok(new TaskStatsResponse(
+                stats.total(),
+                byName(stats.byStatus()),
+                stats.overdue(),
+                byName(stats.dueByDay()),
+                byName(stats.dueByWeek())));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+
+        // The repository reads a limit of 0 as every match; a request must never get that.
+        if (size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new IllegalArgumentException("Search size must be between 1 and " + MAX_SEARCH_SIZE);
+        }
+        List<Task> tasks = taskService.search(query, status, size);
+
+        long mappingStart = RequestTiming.start();
+        byte[] response = jsonCache.jsonArray(tasks);
+        RequestTiming.record(RequestTiming.Phase.MAPPING, mappingStart);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "dueAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam(name = "dueBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore) {
+
+        Stream<Task> tasks = taskService.export(status, dueAfter, dueBefore);
+
+        StreamingResponseBody body = out -> {
+            try (tasks; JsonGenerator generator = exportWriter.createGenerator(out)) {
+                // One document per line, so the newline replaces Jackson's default space separator.
+                generator.setRootValueSeparator(null);
+                Iterator<Task> iterator = tasks.iterator();
+                boolean first = true;
+                while (iterator.hasNext()) {
+                    exportWriter.writeValue(generator, toResponse(iterator.next()));
+                    generator.writeRaw('\n');
+                    if (first) {
+                        generator.flush();
+                        first = false;
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponse> importTasks(InputStream body) throws IOException {
+        return ResponseEntity.ok(taskImporter.importTasks(body));
+    }
+
+    /* ---------- Batch endpoints ---------- */
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createBatch(@RequestBody List<CreateTaskRequest> requests) {
+        checkBatchSize(requests);
+
+        BatchItemResponse[] items = new BatchItemResponse[requests.size()];
+        List<Task> valid = new ArrayList<>(requests.size());
+        List<Integer> slots = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String violations = violations(validator, requests.get(i));
+            if (violations != null) {
+                items[i] = new BatchItemResponse(i, 400, null, null, violations);
+            } else {
+                valid.add(toDomain(requests.get(i)));
+                slots.add(i);
+            }
+        }
+
+        List<BatchResult> results = taskService.createAll(valid);
+        for (int j = 0; j < results.size(); j++) {
+            items[slots.get(j)] = toItem(slots.get(j), results.get(j), 201);
+        }
+        return ResponseEntity.ok(new BatchResponse(List.of(items)));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResponse> updateBatch(@RequestBody List<BatchUpdateTaskRequest> requests) {
+        checkBatchSize(requests);
+
+        BatchItemResponse[] items = new BatchItemResponse[requests.size()];
+        List<TaskUpdate> valid = new ArrayList<>(requests.size());
+        List<Integer> slots = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BatchUpdateTaskRequest request = requests.get(i);
+            String violations = violations(validator, request);
+            if (violations != null) {
+                items[i] = new BatchItemResponse(i, 400, request.getId(), null, violations);
+            } else {
+                valid.add(new TaskUpdate(request.getId(), toDomain(request), request.getVersion()));
+                slots.add(i);
+            }
+        }
+
+        List<BatchResult> results = taskService.updateAll(valid);
+        for (int j = 0; j < results.size(); j++) {
+            items[slots.get(j)] = toItem(slots.get(j), results.get(j), 200);
+        }
+        return ResponseEntity.ok(new BatchResponse(List.of(items)));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse> deleteBatch(@RequestBody List<String> ids) {
+        checkBatchSize(ids);
+
+        List<BatchResult> results = taskService.deleteAll(ids);
+        List<BatchItemResponse> items = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isSuccess()) {
+                jsonCache.evict(results.get(i).id());
+            }
+            items.add(toItem(i, results.get(i), 204));
+        }
+        return ResponseEntity.ok(new BatchResponse(items));
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+    }
+
+    private BatchItemResponse toItem(int index, BatchResult result, int successStatus) {
+        if (result.isSuccess()) {
+            TaskResponse task = result.task() == null ? null : toResponse(result.task());
+            return new BatchItemResponse(index, successStatus, result.id(), task, null);
+        }
+        RuntimeException error = result.error();
+        int status = error instanceof TaskNotFoundException ? 404
+                : error instanceof TaskVersionConflictException ? 412
+                : 400;
+        return new BatchItemResponse(index, status, result.id(), null, error.getMessage());
+    }
+
+    /* ---------- Versioning helpers ---------- */
+
+    private String eTag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    /**
+     * Weak comparison against an {@code If-None-Match} list, as RFC 9110 prescribes for it.
+     */
+    private boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid If-Match header");
+        }
+    }
+
+    /* ---------- Mapping helpers ---------- */
+
+    private static Map<String, Long> byName(Map<?, Long> counts) {
+        Map<String, Long> named = new LinkedHashMap<>();
+        counts.forEach((key, count) -> named.put(key.toString(), count));
+        return named;
     }
 
-    private TaskResponse toResponse(Task task) {
+    static TaskResponse toResponse(Task task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -0,0 +1,271 @@
+package com.taskmanagement.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.response.ImportErrorResponse;
+import com.taskmanagement.dto.response.ImportResponse;
+import com.taskmanagement.services.BatchResult;
+import com.taskmanagement.services.TaskService;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.taskmanagement.controllers.TaskRequests.toDomain;
+import static com.taskmanagement.controllers.TaskRequests.violations;
+
+/**
+ * Loads a newline-delimited stream of {@link CreateTaskRequest} documents.
+ * <p>
+ * The request thread only splits the body into lines. Batches of lines are parsed,
+ * validated and saved on the background executor, and a semaphore caps the batches in
+ * flight: when the store falls behind, the reader blocks, so memory is bounded by
+ * {@code BATCH_LINES} times the number of permits whatever the size of the body. A line
+ * longer than {@code MAX_LINE_LENGTH} is rejected without being buffered in full.
+ */
+@Component
+class TaskImporter {
+
+    static final int BATCH_LINES = 1_000;
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final TaskService taskService;
+    private final Validator validator;
+    private final ExecutorService workers;
+    private final ObjectReader requestReader;
+    private final int maxInFlight;
+
+    TaskImporter(TaskService taskService, Validator validator, ExecutorService taskBackgroundExecutor,
+                 ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.validator = validator;
+        this.workers = taskBackgroundExecutor;
+        this.requestReader = objectMapper.readerFor(CreateTaskRequest.class);
+        // One batch queued behind each busy core keeps workers fed without reading far ahead.
+        this.maxInFlight = Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    ImportResponse importTasks(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LineReader reader = new LineReader(new InputStreamReader(body, StandardCharsets.UTF_8), MAX_LINE_LENGTH);
+
+        try {
+            List<String> batch = new ArrayList<>(BATCH_LINES);
+            long lineNumber = 0;
+            long firstLine = 1;
+            String line;
+            while (run.failure.get() == null && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.oversized) {
+                    run.reject(lineNumber, "Line is longer than " + MAX_LINE_LENGTH + " characters");
+                }
+                batch.add(line);
+                if (batch.size() == BATCH_LINES) {
+                    submit(batch, firstLine, run, inFlight);
+                    batch = new ArrayList<>(BATCH_LINES);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, firstLine, run, inFlight);
+            }
+        } finally {
+            // Holding every permit means no batch is still running.
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+
+        RuntimeException failure = run.failure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        return run.toResponse();
+    }
+
+    private void submit(List<String> lines, long firstLine, ImportRun run, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            workers.execute(() -> {
+                try {
+                    importBatch(lines, firstLine, run);
+                } catch (RuntimeException ex) {
+                    run.failure.compareAndSet(null, ex);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.release();
+            throw ex;
+        }
+    }
+
+    private void importBatch(List<String> lines, long firstLine, ImportRun run) {
+        List<Task> tasks = new ArrayList<>(lines.size());
+        long[] taskLines = new long[lines.size()];
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            long lineNumber = firstLine + i;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            CreateTaskRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                run.reject(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            if (request == null) {
+                run.reject(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            String violations = violations(validator, request);
+            if (violations != null) {
+                run.reject(lineNumber, violations);
+                continue;
+            }
+            taskLines[tasks.size()] = lineNumber;
+            tasks.add(toDomain(request));
+        }
+
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<BatchResult> results = taskService.createAll(tasks);
+        for (int i = 0; i < results.size(); i++) {
+            BatchResult result = results.get(i);
+            if (result.isSuccess()) {
+                run.accepted.increment();
+            } else {
+                run.reject(taskLines[i], result.error().getMessage());
+            }
+        }
+    }
+
+    private static final class ImportRun {
+
+        private static final Comparator<ImportErrorResponse> BY_LINE =
+                Comparator.comparingLong(ImportErrorResponse::getLine);
+
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        // The earliest lines rejected so far, latest at the head. Batches finish out of order,
+        // so the errors reported are chosen by line number rather than by arrival.
+        private final PriorityQueue<ImportErrorResponse> errors =
+                new PriorityQueue<>(MAX_REPORTED_ERRORS + 1, BY_LINE.reversed());
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        void reject(long line, String error) {
+            rejected.increment();
+            synchronized (errors) {
+                if (errors.size() == MAX_REPORTED_ERRORS) {
+                    if (errors.peek().getLine() < line) {
+                        return;
+                    }
+                    errors.poll();
+                }
+                errors.add(new ImportErrorResponse(line, error));
+            }
+        }
+
+        ImportResponse toResponse() {
+            List<ImportErrorResponse> sorted;
+            synchronized (errors) {
+                sorted = errors.stream().sorted(BY_LINE).toList();
+            }
+            return new ImportResponse(accepted.sum(), rejected.sum(), sorted);
+        }
+    }
+
+    /**
+     * Splits characters into lines at {@code \n}, dropping a trailing {@code \r}. A line
+     * longer than {@code maxLength} is skipped through to its end and returned as empty with
+     * {@link #oversized} set, so it never has to be held in memory.
+     */
+    private static final class LineReader {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        boolean oversized;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            oversized = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int read = in.read(buffer, 0, buffer.length);
+                    if (read < 0) {
+                        return started ? finish() : null;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        private void append(int start, int end) {
+            if (oversized) {
+                return;
+            }
+            // One extra character leaves room for a \r ahead of the newline.
+            if (line.length() + (end - start) > maxLength + 1) {
+                oversized = true;
+                line.setLength(0);
+                return;
+            }
+            line.append(buffer, start, end - start);
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (length > maxLength) {
+                oversized = true;
+                return "";
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmanagement.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.dto.response.TaskResponse;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of each task's {@link TaskResponse} already encoded as UTF-8 JSON.
+ * <p>
+ * Entries are keyed by task id and only served for the version they were encoded
+ * from, so a stale entry is never returned: it is simply re-encoded on the next read.
+ * Once the cache holds more than {@code capacity} tasks, arbitrary entries are dropped.
+ */
+public class TaskJsonCache {
+
+    private final ConcurrentHashMap<String, Fragment> fragments = new ConcurrentHashMap<>();
+    private final ObjectWriter writer;
+    private final int capacity;
+
+    /**
+     * @param objectMapper must encode like the HTTP message converter, since cached
+     *                     fragments are served in place of its output
+     */
+    public TaskJsonCache(ObjectMapper objectMapper, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.writer = objectMapper.writerFor(TaskResponse.class);
+        this.capacity = capacity;
+    }
+
+    public byte[] json(Task task) {
+        Fragment cached = fragments.get(task.getId());
+        if (cached != null && cached.version() == task.getVersion()) {
+            return cached.json();
+        }
+
+        byte[] json = encode(task);
+        if (capacity > 0) {
+            // A read racing with a write may hold the older version; never let it replace the newer one.
+            fragments.merge(task.getId(), new Fragment(task.getVersion(), json),
+                    (current, fresh) -> current.version() >= fresh.version() ? current : fresh);
+            trim();
+        }
+        return json;
+    }
+
+    /**
+     * A JSON array of the tasks' cached fragments, copied into a single buffer.
+     */
+    public byte[] jsonArray(List<Task> tasks) {
+        byte[][] parts = new byte[tasks.size()][];
+        int length = 2 + Math.max(0, parts.length - 1);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = json(tasks.get(i));
+            length += parts[i].length;
+        }
+
+        byte[] out = new byte[length];
+        int position = 0;
+        out[position++] = '[';
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                out[position++] = ',';
+            }
+            System.arraycopy(parts[i], 0, out, position, parts[i].length);
+            position += parts[i].length;
+        }
+        out[position] = ']';
+        return out;
+    }
+
+    public void evict(String id) {
+        fragments.remove(id);
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    private void trim() {
+        if (fragments.size() <= capacity) {
+            return;
+        }
+        Iterator<String> ids = fragments.keySet().iterator();
+        while (fragments.size() > capacity && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private byte[] encode(Task task) {
+        try {
+            return writer.writeValueAsBytes(TaskController.toResponse(task));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Fragment(long version, byte[] json) {
+    }
+}
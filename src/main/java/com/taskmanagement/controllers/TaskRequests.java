@@ -0,0 +1,53 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.dto.request.CreateTaskRequest;
+import com.taskmanagement.dto.request.UpdateTaskRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Request validation and mapping shared by the endpoints that accept task payloads.
+ */
+final class TaskRequests {
+
+    private TaskRequests() {
+    }
+
+    /**
+     * Returns the constraint violations of {@code request} as one message, or null if it is valid.
+     */
+    static String violations(Validator validator, Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    static Task toDomain(CreateTaskRequest request) {
+        return new Task(
+                null,
+                request.getTitle(),
+                request.getDescription(),
+                request.getStatus(),
+                request.getDueDate()
+        );
+    }
+
+    static Task toDomain(UpdateTaskRequest request) {
+        return new Task(
+                null,
+                request.getTitle(),
+                request.getDescription(),
+                request.getStatus(),
+                request.getDueDate()
+        );
+    }
+}
@@ -3,19 +3,29 @@ package com.taskmanagement.domain;
 import java.time.LocalDate;
 import java.util.Objects;
 
+/**
+ * Immutable snapshot of a task. Every stored change produces a new snapshot with
+ * a higher {@code version}, which is what optimistic updates compare against.
+ */
 public class Task {
     private final String id;
-    private String title;
-    private String description;
-    private TaskStatus status;
-    private LocalDate dueDate;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final LocalDate dueDate;
+    private final long version;
 
     public Task(String id, String title, String description, TaskStatus status, LocalDate dueDate) {
+        this(id, title, description, status, dueDate, 0L);
+    }
+
+    public Task(String id, String title, String description, TaskStatus status, LocalDate dueDate, long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status == null ? TaskStatus.PENDING : status;
         this.dueDate = dueDate;
+        this.version = version;
     }
 
     public String getId() {
@@ -26,32 +36,24 @@ public class Task {
         return title;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
     public String getDescription() {
         return description;
     }
 
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
     public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(TaskStatus status) {
-        this.status = status;
-    }
-
     public LocalDate getDueDate() {
         return dueDate;
     }
 
-    public void setDueDate(LocalDate dueDate) {
-        this.dueDate = dueDate;
+    public long getVersion() {
+        return version;
+    }
+
+    public Task withVersion(long version) {
+        return new Task(id, title, description, status, dueDate, version);
     }
 
     @Override
@@ -0,0 +1,39 @@
+package com.taskmanagement.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (dueDate, id) list ordering. Serialized as an opaque
+ * URL-safe token so clients never depend on its layout.
+ */
+public record TaskCursor(LocalDate dueDate, String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public static TaskCursor after(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    public String encode() {
+        String raw = (dueDate == null ? "" : Long.toString(dueDate.toEpochDay())) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String epochDay = raw.substring(0, separator);
+            LocalDate dueDate = epochDay.isEmpty() ? null : LocalDate.ofEpochDay(Long.parseLong(epochDay));
+            return new TaskCursor(dueDate, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanagement.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Which tasks a list query returns: one status or any, due dates strictly between
+ * {@code dueAfter} and {@code dueBefore}, and with {@code overdue} only tasks that are
+ * past due and not done. Tasks without a due date match only when no date condition is set.
+ */
+public record TaskFilter(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore, boolean overdue) {
+
+    public static final TaskFilter ALL = new TaskFilter(null, null, null, false);
+
+    public static TaskFilter of(TaskStatus status) {
+        return new TaskFilter(status, null, null, false);
+    }
+
+    public boolean includes(TaskStatus candidate) {
+        return (status == null || status == candidate) && !(overdue && candidate == TaskStatus.DONE);
+    }
+
+    /**
+     * The exclusive upper due-date bound, tightened to {@code today} for overdue queries.
+     */
+    public LocalDate effectiveDueBefore(LocalDate today) {
+        if (!overdue || dueBefore != null && dueBefore.isBefore(today)) {
+            return dueBefore;
+        }
+        return today;
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanagement.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class BatchUpdateTaskRequest extends UpdateTaskRequest {
+
+    @NotBlank(message = "id is required")
+    private String id;
+
+    // Optional: when set, the item only applies if the task is still at this version
+    private Long version;
+
+    public BatchUpdateTaskRequest() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskmanagement.dto.response;
+
+import java.util.List;
+
+public class BatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResponse> results;
+
+    public BatchResponse() {
+    }
+
+    public BatchResponse(List<BatchItemResponse> results) {
+        this.results = results;
+        for (BatchItemResponse result : results) {
+            if (result.getError() == null) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResponse> results) {
+        this.results = results;
+    }
+}
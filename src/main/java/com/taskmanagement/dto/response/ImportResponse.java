@@ -0,0 +1,42 @@
+package com.taskmanagement.dto.response;
+
+import java.util.List;
+
+public class ImportResponse {
+    private long accepted;
+    private long rejected;
+    private List<ImportErrorResponse> errors;
+
+    public ImportResponse() {
+    }
+
+    public ImportResponse(long accepted, long rejected, List<ImportErrorResponse> errors) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.errors = errors;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(long accepted) {
+        this.accepted = accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ImportErrorResponse> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportErrorResponse> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanagement.dto.response;
+
+public class TaskChangeResponse {
+    private long sequence;
+    private String type;
+    private String id;
+    private long version;
+    private TaskResponse task;
+
+    public TaskChangeResponse() {
+    }
+
+    public TaskChangeResponse(long sequence, String type, String id, long version, TaskResponse task) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+        this.task = task;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public TaskResponse getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanagement.dto.response;
+
+import java.util.Map;
+
+public class TaskStatsResponse {
+    private long total;
+    private Map<String, Long> byStatus;
+    private long overdue;
+    private Map<String, Long> dueByDay;
+    private Map<String, Long> dueByWeek;
+
+    public TaskStatsResponse() {
+    }
+
+    public TaskStatsResponse(long total, Map<String, Long> byStatus, long overdue,
+                             Map<String, Long> dueByDay, Map<String, Long> dueByWeek) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.overdue = overdue;
+        this.dueByDay = dueByDay;
+        this.dueByWeek = dueByWeek;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public Map<String, Long> getDueByDay() {
+        return dueByDay;
+    }
+
+    public void setDueByDay(Map<String, Long> dueByDay) {
+        this.dueByDay = dueByDay;
+    }
+
+    public Map<String, Long> getDueByWeek() {
+        return dueByWeek;
+    }
+
+    public void setDueByWeek(Map<String, Long> dueByWeek) {
+        this.dueByWeek = dueByWeek;
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanagement.exceptions;
+
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(String id, long expectedVersion, long currentVersion) {
+        super("Task " + id + " was modified: expected version " + expectedVersion
+                + " but current version is " + currentVersion);
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskmanagement.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets from about 1 µs to 17 s.
+ * <p>
+ * Recording finds the bucket from the position of the highest set bit and bumps a
+ * {@link LongAdder}, so concurrent writers contend on striped cells rather than one
+ * counter, and nothing is allocated once the cells exist.
+ */
+public class LatencyHistogram {
+
+    private static final int FIRST_BUCKET_SHIFT = 10;
+    private static final int BUCKETS = 25;
+
+    // The last slot counts everything above the largest bound.
+    private final LongAdder[] buckets = new LongAdder[BUCKETS + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 1);
+        int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(value - 1) - FIRST_BUCKET_SHIFT);
+        buckets[Math.min(bucket, BUCKETS)].increment();
+        sumNanos.add(value);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Upper bound of bucket {@code i} in nanoseconds.
+     */
+    static long upperBoundNanos(int i) {
+        return 1L << (FIRST_BUCKET_SHIFT + i);
+    }
+
+    /**
+     * Appends the histogram in Prometheus text format; {@code labels} is either empty
+     * or a comma-terminated label list such as {@code operation="get",}.
+     */
+    public void writeTo(StringBuilder out, String name, String labels) {
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(labels)
+                    .append("le=\"").append(upperBoundNanos(i) / 1e9).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[BUCKETS].sum();
+        out.append(name).append("_bucket{").append(labels).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        String plainLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.append(name).append("_sum").append(plainLabels).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+        out.append(name).append("_count").append(plainLabels).append(' ').append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskmanagement.metrics;
+
+/**
+ * A component that reports its own series on {@code /metrics}. Beans implementing it, and
+ * the task repository if it does, are appended to every scrape by {@link TaskMetrics}.
+ */
+public interface MetricsSource {
+
+    /**
+     * Appends this component's series, with their HELP and TYPE lines, in the Prometheus
+     * text exposition format.
+     */
+    void writeMetrics(StringBuilder out);
+}
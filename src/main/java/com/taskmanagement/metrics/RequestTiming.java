@@ -0,0 +1,138 @@
+package com.taskmanagement.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Phase durations of the request handled by the current thread.
+ * <p>
+ * A timing is only bound while the request timing filter is enabled; otherwise every
+ * static method here returns after one {@link ThreadLocal} lookup. Phases may nest
+ * ({@code repository} runs inside {@code service}), so they are not meant to add up to
+ * the total.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        BIND("bind"),
+        VALIDATE("validate"),
+        SERVICE("service"),
+        REPOSITORY("repository"),
+        MAPPING("mapping"),
+        SERIALIZE("serialize");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private long bodyReadStart;
+    private long bodyReadEnd;
+    private long bodyWriteStart;
+    private long totalNanos;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Unbinds this timing and closes the serialization phase, which runs from the start of
+     * the body write until the handler chain returns. Returns the total duration.
+     */
+    public long finish() {
+        CURRENT.remove();
+        long now = System.nanoTime();
+        if (bodyWriteStart != 0) {
+            phaseNanos[Phase.SERIALIZE.ordinal()] += now - bodyWriteStart;
+        }
+        totalNanos = now - startNanos;
+        return totalNanos;
+    }
+
+    /**
+     * Returns a start mark for {@link #record}, or 0 when no request is being timed.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    public static void record(Phase phase, long startNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || startNanos == 0) {
+            return;
+        }
+        if (phase == Phase.SERVICE && timing.bodyReadEnd != 0) {
+            // Bean validation runs between reading the body and invoking the handler.
+            timing.phaseNanos[Phase.VALIDATE.ordinal()] += Math.max(0, startNanos - timing.bodyReadEnd);
+            timing.bodyReadEnd = 0;
+        }
+        timing.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+    }
+
+    public static void bodyReadStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.bodyReadStart = System.nanoTime();
+        }
+    }
+
+    public static void bodyReadFinished() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.bodyReadStart != 0) {
+            timing.bodyReadEnd = System.nanoTime();
+            timing.phaseNanos[Phase.BIND.ordinal()] += timing.bodyReadEnd - timing.bodyReadStart;
+        }
+    }
+
+    public static void bodyWriteStarted() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.bodyWriteStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Durations in milliseconds of the phases that ran, in pipeline order.
+     */
+    public Map<String, Double> phasesMillis() {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            if (phaseNanos[phase.ordinal()] > 0) {
+                phases.put(phase.label(), phaseNanos[phase.ordinal()] / 1e6);
+            }
+        }
+        return phases;
+    }
+
+    /**
+     * Formats the phases and total as a {@code Server-Timing} header value.
+     */
+    public String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        phasesMillis().forEach((label, millis) -> header.add(metric(label, millis)));
+        header.add(metric("total", totalNanos / 1e6));
+        return header.toString();
+    }
+
+    private static String metric(String label, double millis) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f", label, millis);
+    }
+}
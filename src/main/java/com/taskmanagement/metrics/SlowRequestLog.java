@@ -0,0 +1,53 @@
+package com.taskmanagement.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent requests that took longer than a threshold. Writers
+ * claim a slot with one atomic increment, so recording never blocks a request.
+ */
+public class SlowRequestLog {
+
+    public record SlowRequest(Instant startedAt, String method, String uri, int status,
+                              double totalMillis, Map<String, Double> phasesMillis) {
+    }
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(Duration threshold, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean isSlow(long totalNanos) {
+        return totalNanos >= thresholdNanos;
+    }
+
+    public void add(SlowRequest request) {
+        entries.set((int) (next.getAndIncrement() % entries.length()), request);
+    }
+
+    /**
+     * The retained requests, slowest first.
+     */
+    public List<SlowRequest> slowest() {
+        List<SlowRequest> requests = new ArrayList<>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            SlowRequest request = entries.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparingDouble(SlowRequest::totalMillis).reversed());
+        return requests;
+    }
+}
@@ -0,0 +1,139 @@
+package com.taskmanagement.metrics;
+
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.TaskRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation latencies, list scan efficiency and error counts for the task API, rendered in
+ * the Prometheus text exposition format. Recording methods only touch preallocated
+ * counters; the text is built when {@code /metrics} is scraped.
+ */
+@Component
+public class TaskMetrics {
+
+    public enum Operation {
+        CREATE, GET, UPDATE, DELETE, LIST, SEARCH
+    }
+
+    private static final TaskFilter OVERDUE = new TaskFilter(null, null, null, true);
+
+    private final TaskRepository repository;
+    private final ObjectProvider<MetricsSource> sources;
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final LongAdder rowsScanned = new LongAdder();
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LongAdder overdueDetected = new LongAdder();
+    private final LongAdder overdueTransitioned = new LongAdder();
+    private final ConcurrentMap<Class<?>, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public TaskMetrics(TaskRepository repository) {
+        this(repository, null);
+    }
+
+    /**
+     * @param sources components whose own series are appended to every scrape, looked up
+     *                when scraped; may be null
+     */
+    @Autowired
+    public TaskMetrics(TaskRepository repository, ObjectProvider<MetricsSource> sources) {
+        this.repository = repository;
+        this.sources = sources;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records a service operation, and its duration as the request's service phase when
+     * the request is being timed.
+     */
+    public void recordLatency(Operation operation, long startNanos) {
+        latencies.get(operation).recordSince(startNanos);
+        RequestTiming.record(RequestTiming.Phase.SERVICE, startNanos);
+    }
+
+    /**
+     * Records one list query: how many index entries it walked and how many it returned.
+     */
+    public void recordScan(long scanned, long returned) {
+        rowsScanned.add(scanned);
+        rowsReturned.add(returned);
+    }
+
+    /**
+     * Records a task found past its due date, and whether its status was changed because of it.
+     */
+    public void recordOverdue(boolean transitioned) {
+        overdueDetected.increment();
+        if (transitioned) {
+            overdueTransitioned.increment();
+        }
+    }
+
+    public void recordError(Class<? extends Throwable> type) {
+        errors.computeIfAbsent(type, t -> new LongAdder()).increment();
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+
+        out.append("# HELP task_operation_duration_seconds Latency of task service operations.\n");
+        out.append("# TYPE task_operation_duration_seconds histogram\n");
+        latencies.forEach((operation, histogram) -> histogram.writeTo(out, "task_operation_duration_seconds",
+                "operation=\"" + operation.name().toLowerCase(Locale.ROOT) + "\","));
+
+        out.append("# HELP task_list_rows_scanned_total Index entries walked by list queries.\n");
+        out.append("# TYPE task_list_rows_scanned_total counter\n");
+        out.append("task_list_rows_scanned_total ").append(rowsScanned.sum()).append('\n');
+        out.append("# HELP task_list_rows_returned_total Tasks returned by list queries.\n");
+        out.append("# TYPE task_list_rows_returned_total counter\n");
+        out.append("task_list_rows_returned_total ").append(rowsReturned.sum()).append('\n');
+
+        out.append("# HELP task_store_tasks Tasks currently stored, by status.\n");
+        out.append("# TYPE task_store_tasks gauge\n");
+        for (TaskStatus status : TaskStatus.values()) {
+            out.append("task_store_tasks{status=\"").append(status.name()).append("\"} ")
+                    .append(repository.countByStatus(status)).append('\n');
+        }
+
+        out.append("# HELP task_store_overdue_tasks Tasks currently past their due date and not done.\n");
+        out.append("# TYPE task_store_overdue_tasks gauge\n");
+        out.append("task_store_overdue_tasks ").append(repository.count(OVERDUE)).append('\n');
+        out.append("# HELP task_overdue_detected_total Tasks announced as overdue when their due date passed.\n");
+        out.append("# TYPE task_overdue_detected_total counter\n");
+        out.append("task_overdue_detected_total ").append(overdueDetected.sum()).append('\n');
+        out.append("# HELP task_overdue_transitions_total Overdue tasks moved to the configured status.\n");
+        out.append("# TYPE task_overdue_transitions_total counter\n");
+        out.append("task_overdue_transitions_total ").append(overdueTransitioned.sum()).append('\n');
+
+        out.append("# HELP task_api_errors_total Requests that ended in an error response, by exception type.\n");
+        out.append("# TYPE task_api_errors_total counter\n");
+        errors.forEach((type, count) -> out.append("task_api_errors_total{exception=\"")
+                .append(type.getSimpleName()).append("\"} ").append(count.sum()).append('\n'));
+
+        List<MetricsSource> reporting = new ArrayList<>();
+        if (sources != null) {
+            sources.orderedStream().forEach(reporting::add);
+        }
+        // Decorators of the repository are built inside its bean method rather than being beans themselves.
+        if (repository instanceof MetricsSource source && !reporting.contains(source)) {
+            reporting.add(source);
+        }
+        reporting.forEach(source -> source.writeMetrics(out));
+
+        return out.toString();
+    }
+}
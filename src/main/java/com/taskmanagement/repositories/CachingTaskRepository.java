@@ -0,0 +1,379 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.metrics.MetricsSource;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Caches {@link #findById} results of a slower store, including ids it does not have, up
+ * to {@code capacity} tasks, using W-TinyLFU to decide what to keep.
+ * <p>
+ * New entries go to a small LRU window of about one percent of the capacity. An entry
+ * pushed out of the window only enters the main area if a {@link FrequencySketch} of recent
+ * lookups says its id is asked for more often than the main area's least recently used
+ * entry, which it then replaces; otherwise it is dropped. The main area is a segmented LRU:
+ * entries read again are promoted from probation to a protected segment that holds up to
+ * eighty percent of it. A burst of one-off lookups thus cycles through the window and
+ * probation without pushing out tasks that are read over and over.
+ * <p>
+ * Hits are served from a concurrent map without locking. The bookkeeping of a hit is
+ * skipped when another thread holds the policy lock, which only makes the policy a little
+ * less precise. Writes go to the store first and then drop the affected ids. A lookup that
+ * raced with such a write is not cached: ids hash to stripes whose generation every
+ * invalidation bumps, and a loaded value is only cached if its stripe's generation did not
+ * change while loading. All other reads go to the store.
+ */
+public class CachingTaskRepository implements TaskRepository, MetricsSource {
+
+    private static final int STRIPES = 1024;
+
+    private final TaskRepository delegate;
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+
+    private final ConcurrentHashMap<String, Node> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    // Guarded by lock.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node window = Node.sentinel();
+    private final Node probation = Node.sentinel();
+    private final Node protectedSegment = Node.sentinel();
+    private int windowSize;
+    private int probationSize;
+    private int protectedSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingTaskRepository(TaskRepository delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.delegate = delegate;
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = capacity - windowCapacity;
+        this.protectedCapacity = mainCapacity * 4 / 5;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Node node = entries.get(id);
+        if (node != null) {
+            (node.task == null ? negativeHits : hits).increment();
+            recordHit(node);
+            return Optional.ofNullable(node.task);
+        }
+        misses.increment();
+        long generation = generations.get(stripe(id));
+        Optional<Task> loaded = delegate.findById(id);
+        admit(id, loaded.orElse(null), generation);
+        return loaded;
+    }
+
+    @Override
+    public Task save(Task task) {
+        try {
+            return delegate.save(task);
+        } finally {
+            invalidate(List.of(task.getId()));
+        }
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        try {
+            return delegate.saveAll(tasks);
+        } finally {
+            invalidate(tasks.stream().map(Task::getId).toList());
+        }
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        try {
+            return delegate.replace(expectedVersion, next);
+        } finally {
+            invalidate(List.of(next.getId()));
+        }
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        try {
+            return delegate.replaceAll(replacements);
+        } finally {
+            invalidate(replacements.stream().map(replacement -> replacement.next().getId()).toList());
+        }
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        return delegate.findAll(filter, page, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        return delegate.findAllAfter(filter, after, size);
+    }
+
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        return delegate.stream(status, dueAfter, dueBefore);
+    }
+
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        return delegate.search(query, status, limit);
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        return delegate.countOpenByDueDate(from, days);
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    /**
+     * Lookups answered from the cache, including those for ids the store does not have.
+     */
+    public long hits() {
+        return hits.sum() + negativeHits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries dropped to stay within the capacity; invalidations are not counted.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /* ---------- Policy ---------- */
+
+    private void recordHit(Node node) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.id);
+            switch (node.segment) {
+                case WINDOW -> moveToTail(node, window);
+                case PROBATION -> promote(node);
+                case PROTECTED -> moveToTail(node, protectedSegment);
+                case null -> {
+                    // Dropped since it was read.
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(String id, Task task, long generation) {
+        lock.lock();
+        try {
+            sketch.increment(id);
+            if (generations.get(stripe(id)) != generation || entries.containsKey(id)) {
+                return;
+            }
+            Node node = new Node(id, task);
+            entries.put(id, node);
+            node.segment = Segment.WINDOW;
+            node.linkBefore(window);
+            windowSize++;
+            if (windowSize > windowCapacity) {
+                evict();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Moves the window's eldest entry to probation, then settles the main area's overflow
+    // with a frequency duel between that entry and probation's eldest.
+    private void evict() {
+        Node candidate = window.next;
+        candidate.unlink();
+        windowSize--;
+        candidate.segment = Segment.PROBATION;
+        candidate.linkBefore(probation);
+        probationSize++;
+        if (probationSize + protectedSize <= mainCapacity) {
+            return;
+        }
+        Node victim = probation.next;
+        if (victim != candidate && sketch.frequency(candidate.id) > sketch.frequency(victim.id)) {
+            drop(victim);
+        } else {
+            drop(candidate);
+        }
+        evictions.increment();
+    }
+
+    private void promote(Node node) {
+        node.unlink();
+        probationSize--;
+        node.segment = Segment.PROTECTED;
+        node.linkBefore(protectedSegment);
+        protectedSize++;
+        if (protectedSize > protectedCapacity) {
+            Node demoted = protectedSegment.next;
+            demoted.unlink();
+            protectedSize--;
+            demoted.segment = Segment.PROBATION;
+            demoted.linkBefore(probation);
+            probationSize++;
+        }
+    }
+
+    private void invalidate(Collection<String> ids) {
+        lock.lock();
+        try {
+            for (String id : ids) {
+                generations.incrementAndGet(stripe(id));
+                Node node = entries.remove(id);
+                if (node != null) {
+                    unlinkFromSegment(node);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drop(Node node) {
+        entries.remove(node.id, node);
+        unlinkFromSegment(node);
+    }
+
+    private void unlinkFromSegment(Node node) {
+        node.unlink();
+        switch (node.segment) {
+            case WINDOW -> windowSize--;
+            case PROBATION -> probationSize--;
+            case PROTECTED -> protectedSize--;
+        }
+        node.segment = null;
+    }
+
+    private static void moveToTail(Node node, Node segment) {
+        node.unlink();
+        node.linkBefore(segment);
+    }
+
+    private static int stripe(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# HELP task_cache_requests_total Task lookups by id, by whether the cache answered them.\n");
+        out.append("# TYPE task_cache_requests_total counter\n");
+        out.append("task_cache_requests_total{result=\"hit\"} ").append(hits.sum()).append('\n');
+        out.append("task_cache_requests_total{result=\"negative_hit\"} ").append(negativeHits.sum()).append('\n');
+        out.append("task_cache_requests_total{result=\"miss\"} ").append(misses.sum()).append('\n');
+        out.append("# HELP task_cache_evictions_total Cached lookups dropped to stay within the capacity.\n");
+        out.append("# TYPE task_cache_evictions_total counter\n");
+        out.append("task_cache_evictions_total ").append(evictions.sum()).append('\n');
+        out.append("# HELP task_cache_entries Tasks and missing ids currently cached.\n");
+        out.append("# TYPE task_cache_entries gauge\n");
+        out.append("task_cache_entries ").append(size()).append('\n');
+    }
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    // Entry of a circular doubly linked list whose sentinel marks the segment's head and tail.
+    private static final class Node {
+        final String id;
+        final Task task;
+        Segment segment;
+        Node prev;
+        Node next;
+
+        Node(String id, Task task) {
+            this.id = id;
+            this.task = task;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(null, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void linkBefore(Node successor) {
+            prev = successor.prev;
+            next = successor;
+            prev.next = this;
+            successor.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
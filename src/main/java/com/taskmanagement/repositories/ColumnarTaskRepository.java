@@ -0,0 +1,880 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store that keeps each field in a primitive column indexed by slot, instead of one
+ * object graph per task.
+ * <p>
+ * ULID ids are held as two longs, statuses as bytes, due dates as epoch days, and titles
+ * and descriptions as UTF-8 in a {@link TextSlab}, optionally off-heap. An open-addressing
+ * table maps ids to slots, and deleted slots go on a free list for reuse. Ids that are not
+ * canonical ULIDs (imported or legacy ones) are kept as strings on the side.
+ * <p>
+ * There are no ordered indexes: list queries scan the status and due-date columns, keeping
+ * only the rows up to the requested page, and search tokenizes candidates as it goes. Counts
+ * are maintained on every write, as in {@link InMemoryTaskRepository}. A single read-write
+ * lock guards the columns, so writes are serialized. {@link Task} objects are only built
+ * for the tasks a call returns.
+ */
+public class ColumnarTaskRepository implements TaskRepository {
+
+    private static final int INITIAL_SLOTS = 1024;
+    // Sorts after every real due date, as tasks without one do in list order.
+    private static final int NO_DUE_DATE = Integer.MAX_VALUE;
+    private static final int NO_TEXT = -1;
+    private static final byte FREE = -1;
+    private static final int STATUS_MASK = 0x0F;
+    private static final int FOREIGN_ID = 0x10;
+    private static final int STREAM_BATCH = 256;
+    private static final int SEARCH_BATCH = 4096;
+    private static final int MIN_COMPACTION_GARBAGE = 1 << 20;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final char[] ULID_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ULID_LENGTH = 26;
+    private static final byte[] ULID_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(ULID_VALUES, (byte) -1);
+        for (int i = 0; i < ULID_ALPHABET.length; i++) {
+            ULID_VALUES[ULID_ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean offHeapText;
+
+    // Columns, indexed by slot.
+    private long[] idHigh;
+    private long[] idLow;
+    private long[] versions;
+    private byte[] states;
+    private int[] dueDays;
+    private int[] textOffsets;
+    private int[] titleLengths;
+    private int[] descriptionLengths;
+    // Bumped whenever a slot is freed, so a lazy stream can tell a reused slot from its original task.
+    private int[] reuses;
+    private TextSlab text;
+
+    private int slotCount;
+    private int size;
+    private int[] freeSlots;
+    private int freeCount;
+    // Linear probing over slot + 1, with 0 marking an empty bucket; kept at most half full.
+    private int[] idTable;
+    private final Map<String, Integer> foreignSlots = new HashMap<>();
+    private final Map<Integer, String> foreignIds = new HashMap<>();
+
+    private final long[] statusCounts = new long[STATUSES.length];
+    // Tasks per due date (epoch day) and status.
+    private final NavigableMap<Integer, long[]> dueDateCounts = new TreeMap<>();
+    private long generation;
+    // Bumped before the write lock is released, so a reader that saw the new value sees the write.
+    private final AtomicLong modifications = new AtomicLong(System.currentTimeMillis() << 20);
+
+    public ColumnarTaskRepository() {
+        this(false);
+    }
+
+    public ColumnarTaskRepository(boolean offHeapText) {
+        this.offHeapText = offHeapText;
+        reset();
+    }
+
+    /* ---------- Writes ---------- */
+
+    @Override
+    public Task save(Task task) {
+        return saveAll(List.of(task)).getFirst();
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        Row[] rows = new Row[tasks.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = Row.of(tasks.get(i));
+        }
+
+        List<Task> saved = new ArrayList<>(rows.length);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < rows.length; i++) {
+                int slot = slotOf(rows[i].id());
+                boolean existing = slot >= 0;
+                if (existing) {
+                    account(slot, -1);
+                } else {
+                    slot = allocate(rows[i].id());
+                }
+                long version = ++generation;
+                write(slot, rows[i], version, existing);
+                saved.add(tasks.get(i).withVersion(version));
+            }
+            if (rows.length > 0) {
+                modifications.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        return replaceAll(List.of(new TaskReplacement(expectedVersion, next))).getFirst();
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        Row[] rows = new Row[replacements.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = Row.of(replacements.get(i).next());
+        }
+
+        List<Optional<Task>> replaced = new ArrayList<>(rows.length);
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            for (int i = 0; i < rows.length; i++) {
+                TaskReplacement replacement = replacements.get(i);
+                int slot = slotOf(rows[i].id());
+                if (slot < 0 || versions[slot] != replacement.expectedVersion()) {
+                    replaced.add(Optional.empty());
+                    continue;
+                }
+                account(slot, -1);
+                long version = ++generation;
+                write(slot, rows[i], version, true);
+                replaced.add(Optional.of(replacement.next().withVersion(version)));
+                changed = true;
+            }
+            if (changed) {
+                modifications.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return replaced;
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        return deleteAllById(List.of(id)).getFirst();
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        List<Id> keys = ids.stream().map(Id::of).toList();
+        List<OptionalLong> deleted = new ArrayList<>(keys.size());
+
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            for (Id key : keys) {
+                int slot = slotOf(key);
+                if (slot >= 0) {
+                    free(slot);
+                    deleted.add(OptionalLong.of(++generation));
+                    changed = true;
+                } else {
+                    deleted.add(OptionalLong.empty());
+                }
+            }
+            if (changed) {
+                modifications.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+            modifications.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(int slot, Row row, long version, boolean existing) {
+        versions[slot] = version;
+        states[slot] = (byte) (row.status().ordinal() | (row.id().foreign() ? FOREIGN_ID : 0));
+        dueDays[slot] = row.dueDay();
+        if (!existing || !sameText(slot, row)) {
+            if (existing) {
+                text.release(textLength(slot));
+            }
+            textOffsets[slot] = text.size();
+            titleLengths[slot] = appendText(row.title());
+            descriptionLengths[slot] = appendText(row.description());
+            if (text.garbage() > MIN_COMPACTION_GARBAGE && text.garbage() > text.size() / 2) {
+                compactText();
+            }
+        }
+        account(slot, 1);
+    }
+
+    private int appendText(byte[] bytes) {
+        if (bytes == null) {
+            return NO_TEXT;
+        }
+        text.append(bytes);
+        return bytes.length;
+    }
+
+    private boolean sameText(int slot, Row row) {
+        return sameText(textOffsets[slot], titleLengths[slot], row.title())
+                && sameText(textOffsets[slot] + Math.max(0, titleLengths[slot]), descriptionLengths[slot], row.description());
+    }
+
+    private boolean sameText(int offset, int length, byte[] bytes) {
+        if (bytes == null) {
+            return length == NO_TEXT;
+        }
+        return length == bytes.length && text.matches(offset, bytes);
+    }
+
+    // Copies the live text into a fresh slab once replaced values make up most of the old one.
+    private void compactText() {
+        TextSlab compacted = new TextSlab(offHeapText, (int) Math.min(Integer.MAX_VALUE - 8,
+                2 * (text.size() - text.garbage())));
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (states[slot] != FREE) {
+                textOffsets[slot] = compacted.append(text, textOffsets[slot], textLength(slot));
+            }
+        }
+        text = compacted;
+    }
+
+    private int allocate(Id id) {
+        if (!id.foreign() && (size + 1) * 2 > idTable.length) {
+            rebuildIdTable(idTable.length * 2);
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == states.length) {
+                growColumns(slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        idHigh[slot] = id.high();
+        idLow[slot] = id.low();
+        if (id.foreign()) {
+            foreignSlots.put(id.value(), slot);
+            foreignIds.put(slot, id.value());
+        } else {
+            insertId(slot);
+        }
+        size++;
+        return slot;
+    }
+
+    private void free(int slot) {
+        account(slot, -1);
+        text.release(textLength(slot));
+        if ((states[slot] & FOREIGN_ID) != 0) {
+            foreignSlots.remove(foreignIds.remove(slot));
+        } else {
+            removeId(slot);
+        }
+        states[slot] = FREE;
+        reuses[slot]++;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    private void account(int slot, int delta) {
+        int status = states[slot] & STATUS_MASK;
+        statusCounts[status] += delta;
+        if (dueDays[slot] != NO_DUE_DATE) {
+            long[] counts = dueDateCounts.computeIfAbsent(dueDays[slot], day -> new long[STATUSES.length]);
+            counts[status] += delta;
+            if (delta < 0 && Arrays.stream(counts).allMatch(count -> count == 0)) {
+                dueDateCounts.remove(dueDays[slot]);
+            }
+        }
+    }
+
+    private void growColumns(int capacity) {
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        int previous = states.length;
+        states = Arrays.copyOf(states, capacity);
+        Arrays.fill(states, previous, capacity, FREE);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        titleLengths = Arrays.copyOf(titleLengths, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        reuses = Arrays.copyOf(reuses, capacity);
+    }
+
+    private void reset() {
+        idHigh = new long[INITIAL_SLOTS];
+        idLow = new long[INITIAL_SLOTS];
+        versions = new long[INITIAL_SLOTS];
+        states = new byte[INITIAL_SLOTS];
+        Arrays.fill(states, FREE);
+        dueDays = new int[INITIAL_SLOTS];
+        textOffsets = new int[INITIAL_SLOTS];
+        titleLengths = new int[INITIAL_SLOTS];
+        descriptionLengths = new int[INITIAL_SLOTS];
+        reuses = new int[INITIAL_SLOTS];
+        text = new TextSlab(offHeapText, INITIAL_SLOTS * 64);
+        slotCount = 0;
+        size = 0;
+        freeSlots = new int[64];
+        freeCount = 0;
+        idTable = new int[INITIAL_SLOTS * 2];
+        foreignSlots.clear();
+        foreignIds.clear();
+        Arrays.fill(statusCounts, 0);
+        dueDateCounts.clear();
+    }
+
+    /* ---------- Id table ---------- */
+
+    private int slotOf(Id id) {
+        if (id.foreign()) {
+            return foreignSlots.getOrDefault(id.value(), -1);
+        }
+        int mask = idTable.length - 1;
+        for (int i = hash(id.high(), id.low()) & mask; idTable[i] != 0; i = (i + 1) & mask) {
+            int slot = idTable[i] - 1;
+            if (idHigh[slot] == id.high() && idLow[slot] == id.low()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertId(int slot) {
+        int mask = idTable.length - 1;
+        int i = hash(idHigh[slot], idLow[slot]) & mask;
+        while (idTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idTable[i] = slot + 1;
+    }
+
+    // Backward-shift deletion: later entries of the probe run move into the hole, so no tombstones are needed.
+    private void removeId(int slot) {
+        int mask = idTable.length - 1;
+        int hole = hash(idHigh[slot], idLow[slot]) & mask;
+        while (idTable[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        for (int i = (hole + 1) & mask; idTable[i] != 0; i = (i + 1) & mask) {
+            int moved = idTable[i] - 1;
+            int home = hash(idHigh[moved], idLow[moved]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                idTable[hole] = idTable[i];
+                hole = i;
+            }
+        }
+        idTable[hole] = 0;
+    }
+
+    private void rebuildIdTable(int capacity) {
+        idTable = new int[capacity];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (states[slot] != FREE && (states[slot] & FOREIGN_ID) == 0) {
+                insertId(slot);
+            }
+        }
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /* ---------- Reads ---------- */
+
+    @Override
+    public Optional<Task> findById(String id) {
+        Id key = Id.of(id);
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(key);
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        return select(Range.of(filter, null), page, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        return select(Range.of(filter, after), 0, size);
+    }
+
+    private List<Task> select(Range range, int page, int size) {
+        long skip = size <= 0 ? 0 : (long) Math.max(0, page) * size;
+        int keep = size <= 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, skip + size);
+        lock.readLock().lock();
+        try {
+            int[] slots = firstMatching(range, keep);
+            List<Task> tasks = new ArrayList<>((int) Math.max(0, slots.length - skip));
+            for (long i = skip; i < slots.length; i++) {
+                tasks.add(materialize(slots[(int) i]));
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lazily materializes the matching tasks in list order. The matching slots are picked and
+     * sorted up front; each task is read when the stream reaches it, skipping any deleted since
+     * or updated so that it no longer matches. A task whose due date changed is skipped as well,
+     * since it no longer belongs at the position it was sorted into.
+     */
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        Range range = Range.of(new TaskFilter(status, dueAfter, dueBefore, false), null);
+        int[] slots;
+        int[] expectedReuses;
+        int[] expectedDueDays;
+        lock.readLock().lock();
+        try {
+            slots = firstMatching(range, Integer.MAX_VALUE);
+            expectedReuses = new int[slots.length];
+            expectedDueDays = new int[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                expectedReuses[i] = reuses[slots[i]];
+                expectedDueDays[i] = dueDays[slots[i]];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        SlotIterator iterator = new SlotIterator(range, slots, expectedReuses, expectedDueDays);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        TaskSearchIndex.Scan scan = new TaskSearchIndex.Scan(query, status, limit);
+        if (scan.isEmpty()) {
+            return List.of();
+        }
+        // Candidates are copied out a batch at a time and tokenized without holding the lock.
+        List<Task> batch = new ArrayList<>(SEARCH_BATCH);
+        for (int from = 0; ; from += SEARCH_BATCH) {
+            lock.readLock().lock();
+            try {
+                if (from >= slotCount) {
+                    break;
+                }
+                for (int slot = from; slot < Math.min(slotCount, from + SEARCH_BATCH); slot++) {
+                    if (states[slot] != FREE && textLength(slot) > 0
+                            && (status == null || (states[slot] & STATUS_MASK) == status.ordinal())) {
+                        batch.add(materialize(slot));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            batch.forEach(scan::offer);
+            batch.clear();
+        }
+        return scan.result();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        lock.readLock().lock();
+        try {
+            return statusCounts[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        Range range = Range.of(filter, null);
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            if (!range.dated()) {
+                for (TaskStatus status : STATUSES) {
+                    if (range.included()[status.ordinal()]) {
+                        total += statusCounts[status.ordinal()];
+                    }
+                }
+                return total;
+            }
+            if (range.from() >= range.to()) {
+                return 0;
+            }
+            for (long[] counts : dueDateCounts.subMap(clamp(range.from()), false, clamp(range.to()), false).values()) {
+                for (TaskStatus status : STATUSES) {
+                    if (range.included()[status.ordinal()]) {
+                        total += counts[status.ordinal()];
+                    }
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        long[] counts = new long[days];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < days; i++) {
+                long[] day = dueDateCounts.get(clamp(from.toEpochDay() + i));
+                if (day != null) {
+                    counts[i] = day[TaskStatus.PENDING.ordinal()] + day[TaskStatus.IN_PROGRESS.ordinal()];
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    /**
+     * The first {@code keep} matching slots in list order, sorted. A bounded selection keeps
+     * the best candidates so far in a max-heap, so a page costs one pass over the columns.
+     */
+    private int[] firstMatching(Range range, int keep) {
+        int[] selected = new int[Math.min(keep, 64)];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!matches(slot, range)) {
+                continue;
+            }
+            if (keep == Integer.MAX_VALUE) {
+                if (count == selected.length) {
+                    selected = Arrays.copyOf(selected, count * 2);
+                }
+                selected[count++] = slot;
+            } else if (count < keep) {
+                if (count == selected.length) {
+                    selected = Arrays.copyOf(selected, (int) Math.min(keep, count * 2L));
+                }
+                selected[count] = slot;
+                siftUp(selected, count++);
+            } else if (compareSlots(slot, selected[0]) < 0) {
+                selected[0] = slot;
+                siftDown(selected, count);
+            }
+        }
+        int[] slots = Arrays.copyOf(selected, count);
+        sort(slots, new int[count], 0, count);
+        return slots;
+    }
+
+    private boolean matches(int slot, Range range) {
+        byte state = states[slot];
+        if (state == FREE || !range.included()[state & STATUS_MASK]) {
+            return false;
+        }
+        int due = dueDays[slot];
+        if (due == NO_DUE_DATE ? range.dated() : due <= range.from() || due >= range.to()) {
+            return false;
+        }
+        return range.after() == null || compareToCursor(slot, range) > 0;
+    }
+
+    private int compareToCursor(int slot, Range range) {
+        long due = dueDays[slot] == NO_DUE_DATE ? Long.MAX_VALUE : dueDays[slot];
+        int byDate = Long.compare(due, range.afterDay());
+        if (byDate != 0) {
+            return byDate;
+        }
+        Id after = range.after();
+        if (!after.foreign() && (states[slot] & FOREIGN_ID) == 0) {
+            int byHigh = Long.compareUnsigned(idHigh[slot], after.high());
+            return byHigh != 0 ? byHigh : Long.compareUnsigned(idLow[slot], after.low());
+        }
+        return idOf(slot).compareTo(after.value());
+    }
+
+    // List order: due date, then id. ULIDs order numerically exactly as they do as strings.
+    private int compareSlots(int a, int b) {
+        int byDate = Integer.compare(dueDays[a], dueDays[b]);
+        if (byDate != 0) {
+            return byDate;
+        }
+        if (((states[a] | states[b]) & FOREIGN_ID) == 0) {
+            int byHigh = Long.compareUnsigned(idHigh[a], idHigh[b]);
+            return byHigh != 0 ? byHigh : Long.compareUnsigned(idLow[a], idLow[b]);
+        }
+        return idOf(a).compareTo(idOf(b));
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compareSlots(heap[parent], slot) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int[] heap, int count) {
+        int slot = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && compareSlots(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compareSlots(slot, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    // Merge sort over slot numbers; the JDK only sorts primitive arrays in natural order.
+    private void sort(int[] slots, int[] buffer, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int slot = slots[i];
+                int j = i - 1;
+                while (j >= from && compareSlots(slots[j], slot) > 0) {
+                    slots[j + 1] = slots[j];
+                    j--;
+                }
+                slots[j + 1] = slot;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(slots, buffer, from, middle);
+        sort(slots, buffer, middle, to);
+        if (compareSlots(slots[middle - 1], slots[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(slots, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compareSlots(buffer[left], buffer[right]) <= 0) {
+                slots[i] = buffer[left++];
+            } else {
+                slots[i] = buffer[right++];
+            }
+        }
+    }
+
+    private Task materialize(int slot) {
+        int offset = textOffsets[slot];
+        int titleLength = titleLengths[slot];
+        int descriptionLength = descriptionLengths[slot];
+        return new Task(
+                idOf(slot),
+                titleLength == NO_TEXT ? null : text.read(offset, titleLength),
+                descriptionLength == NO_TEXT ? null : text.read(offset + Math.max(0, titleLength), descriptionLength),
+                STATUSES[states[slot] & STATUS_MASK],
+                dueDays[slot] == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDays[slot]),
+                versions[slot]
+        );
+    }
+
+    private String idOf(int slot) {
+        if ((states[slot] & FOREIGN_ID) != 0) {
+            return foreignIds.get(slot);
+        }
+        long high = idHigh[slot];
+        long low = idLow[slot];
+        char[] chars = new char[ULID_LENGTH];
+        for (int i = ULID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ULID_ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private int textLength(int slot) {
+        return Math.max(0, titleLengths[slot]) + Math.max(0, descriptionLengths[slot]);
+    }
+
+    private static int clamp(long epochDay) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, epochDay));
+    }
+
+    private final class SlotIterator implements Iterator<Task> {
+
+        private final Range range;
+        private final int[] slots;
+        private final int[] expectedReuses;
+        private final int[] expectedDueDays;
+        private final List<Task> batch = new ArrayList<>(STREAM_BATCH);
+        private int position;
+        private int next;
+
+        SlotIterator(Range range, int[] slots, int[] expectedReuses, int[] expectedDueDays) {
+            this.range = range;
+            this.slots = slots;
+            this.expectedReuses = expectedReuses;
+            this.expectedDueDays = expectedDueDays;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == batch.size() && position < slots.length) {
+                batch.clear();
+                next = 0;
+                lock.readLock().lock();
+                try {
+                    int end = Math.min(slots.length, position + STREAM_BATCH);
+                    for (; position < end; position++) {
+                        int slot = slots[position];
+                        if (reuses[slot] == expectedReuses[position]
+                                && dueDays[slot] == expectedDueDays[position]
+                                && matches(slot, range)) {
+                            batch.add(materialize(slot));
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            return next < batch.size();
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(next++);
+        }
+    }
+
+    /**
+     * A task id as two longs when it is a canonical ULID, otherwise flagged as foreign.
+     */
+    private record Id(String value, long high, long low, boolean foreign) {
+
+        static Id of(String id) {
+            if (id.length() != ULID_LENGTH || id.charAt(0) > '7') {
+                return new Id(id, 0, 0, true);
+            }
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < ULID_LENGTH; i++) {
+                char c = id.charAt(i);
+                int value = c < ULID_VALUES.length ? ULID_VALUES[c] : -1;
+                if (value < 0) {
+                    return new Id(id, 0, 0, true);
+                }
+                high = (high << 5) | (low >>> 59);
+                low = (low << 5) | value;
+            }
+            return new Id(id, high, low, false);
+        }
+    }
+
+    /**
+     * A task encoded for the columns, prepared before the write lock is taken.
+     */
+    private record Row(Id id, byte[] title, byte[] description, TaskStatus status, int dueDay) {
+
+        static Row of(Task task) {
+            return new Row(Id.of(task.getId()), utf8(task.getTitle()), utf8(task.getDescription()),
+                    task.getStatus(), dueDay(task.getDueDate()));
+        }
+
+        private static byte[] utf8(String value) {
+            return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static int dueDay(LocalDate dueDate) {
+            if (dueDate == null) {
+                return NO_DUE_DATE;
+            }
+            long epochDay = dueDate.toEpochDay();
+            if (epochDay <= Integer.MIN_VALUE || epochDay >= NO_DUE_DATE) {
+                throw new IllegalArgumentException("Due date out of range: " + dueDate);
+            }
+            return (int) epochDay;
+        }
+    }
+
+    /**
+     * A filter resolved to column values: statuses as ordinals, due dates as exclusive
+     * epoch-day bounds, and the cursor position, if any.
+     */
+    private record Range(boolean[] included, boolean dated, long from, long to, long afterDay, Id after) {
+
+        static Range of(TaskFilter filter, TaskCursor cursor) {
+            boolean[] included = new boolean[STATUSES.length];
+            for (TaskStatus status : STATUSES) {
+                included[status.ordinal()] = filter.includes(status);
+            }
+            LocalDate dueBefore = filter.effectiveDueBefore(LocalDate.now());
+            return new Range(
+                    included,
+                    filter.dueAfter() != null || dueBefore != null,
+                    filter.dueAfter() == null ? Long.MIN_VALUE : filter.dueAfter().toEpochDay(),
+                    dueBefore == null ? Long.MAX_VALUE : dueBefore.toEpochDay(),
+                    cursor == null || cursor.dueDate() == null ? Long.MAX_VALUE : cursor.dueDate().toEpochDay(),
+                    cursor == null ? null : Id.of(cursor.id()));
+        }
+    }
+}
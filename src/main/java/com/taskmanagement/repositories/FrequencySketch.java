@@ -0,0 +1,86 @@
+package com.taskmanagement.repositories;
+
+/**
+ * Count-min sketch of how often keys were seen recently, for cache admission.
+ * <p>
+ * Four rows of four-bit counters packed sixteen to a {@code long}; a key's estimate is the
+ * smallest of its four counters. Once the number of increments reaches ten times the
+ * expected number of keys, every counter is halved, so the sketch follows a shifting working set
+ * instead of remembering all of history. Not thread-safe.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {0x97cb3127L, 0xb8b3b7c3L, 0x2b8c1f6dL, 0xc1ae7f6bL};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int rowMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int expectedKeys) {
+        int width = Integer.highestOneBit(Math.max(16, expectedKeys - 1) << 1);
+        // Four rows, sixteen counters per long.
+        this.table = new long[Math.max(4, width / 4)];
+        this.rowMask = width - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, expectedKeys));
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < 4; row++) {
+            frequency = Math.min(frequency, counter(indexOf(hash, row)));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            added |= incrementAt(indexOf(hash, row));
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    // Counter index across all rows: row r uses counters [r * width, (r + 1) * width).
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed += mixed >>> 32;
+        return row * (rowMask + 1) + ((int) mixed & rowMask);
+    }
+
+    private int counter(int index) {
+        return (int) (table[index >>> 4] >>> ((index & 15) << 2)) & 0xf;
+    }
+
+    private boolean incrementAt(int index) {
+        int shift = (index & 15) << 2;
+        long word = table[index >>> 4];
+        if (((word >>> shift) & 0xf) == MAX_COUNT) {
+            return false;
+        }
+        table[index >>> 4] = word + (1L << shift);
+        return true;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xed5ad4bb;
+        hash ^= hash >>> 11;
+        hash *= 0xac4c1b51;
+        hash ^= hash >>> 15;
+        return hash;
+    }
+}
@@ -1,26 +1,130 @@
 package com.taskmanagement.repositories;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
-import org.springframework.stereotype.Repository;
+import com.taskmanagement.repositories.journal.JournalReplayHandler;
+import com.taskmanagement.repositories.journal.TaskJournal;
+import com.taskmanagement.repositories.journal.TaskSnapshotStore;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@Repository
 public class InMemoryTaskRepository implements TaskRepository {
 
+    private static final TaskSortKey FIRST_WITHOUT_DUE_DATE = new TaskSortKey(null, "");
+
     private final ConcurrentMap<String, Task> store = new ConcurrentHashMap<>();
 
+    // Secondary indexes ordered by (dueDate, id): one over all tasks and one per status.
+    private final ConcurrentNavigableMap<TaskSortKey, Task> byDueDate = new ConcurrentSkipListMap<>();
+    private final Map<TaskStatus, ConcurrentNavigableMap<TaskSortKey, Task>> byStatus = new EnumMap<>(TaskStatus.class);
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(store::get);
+
+    // Maintained alongside the status indexes, whose size() would walk the whole skip list.
+    private final LongAdder[] statusCounts = new LongAdder[TaskStatus.values().length];
+    // Tasks per due date (epoch day) and status, so date-bounded counts walk days, not tasks.
+    private final ConcurrentNavigableMap<Long, LongAdder[]> dueDateCounts = new ConcurrentSkipListMap<>();
+    // Source of task versions: every write takes the next value, so versions grow
+    // monotonically across the whole store, not just per task.
+    private final AtomicLong generation = new AtomicLong();
+    // Bumped once a write's index updates are done, unlike generation, which is taken before them.
+    // Seeded from the clock so a restarted store never repeats a count handed out before.
+    private final AtomicLong modifications = new AtomicLong(System.currentTimeMillis() << 20);
+
+    // Either may be null when the repository is purely in memory.
+    private final TaskJournal journal;
+    private final TaskSnapshotStore snapshots;
+
+    public InMemoryTaskRepository() {
+        this(null, null);
+    }
+
+    public InMemoryTaskRepository(TaskJournal journal) {
+        this(journal, null);
+    }
+
+    public InMemoryTaskRepository(TaskJournal journal, TaskSnapshotStore snapshots) {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>());
+            statusCounts[status.ordinal()] = new LongAdder();
+        }
+        this.journal = journal;
+        this.snapshots = snapshots;
+
+        Recovery recovery = new Recovery();
+        long replayFrom = 0;
+        if (snapshots != null) {
+            TaskSnapshotStore.SnapshotInfo snapshot = snapshots.restoreLatest(recovery::put).orElse(null);
+            if (snapshot != null) {
+                generation.accumulateAndGet(snapshot.generation(), Math::max);
+                // Also replay the segment just before the snapshot boundary: it may hold
+                // writes that were still being applied when the snapshot started.
+                replayFrom = snapshot.journalSegment() - 1;
+            }
+        }
+        if (journal != null) {
+            journal.replay(replayFrom, recovery);
+        }
+    }
+
     @Override
     public Task save(Task task) {
-        store.put(task.getId(), task);
-        return task;
+        CompletableFuture<?>[] commit = new CompletableFuture<?>[1];
+        Task saved = applySave(task, commit, 0);
+        awaitCommits(commit);
+        return saved;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        CompletableFuture<?>[] commits = new CompletableFuture<?>[tasks.size()];
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            saved.add(applySave(tasks.get(i), commits, i));
+        }
+        awaitCommits(commits);
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        CompletableFuture<?>[] commit = new CompletableFuture<?>[1];
+        Task replaced = applyReplace(expectedVersion, next, commit, 0);
+        awaitCommits(commit);
+        return Optional.ofNullable(replaced);
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        CompletableFuture<?>[] commits = new CompletableFuture<?>[replacements.size()];
+        List<Optional<Task>> replaced = new ArrayList<>(replacements.size());
+        for (int i = 0; i < replacements.size(); i++) {
+            TaskReplacement replacement = replacements.get(i);
+            replaced.add(Optional.ofNullable(applyReplace(replacement.expectedVersion(), replacement.next(), commits, i)));
+        }
+        awaitCommits(commits);
+        return replaced;
     }
 
     @Override
@@ -29,40 +133,319 @@ public class InMemoryTaskRepository implements TaskRepository {
     }
 
     @Override
-    public void deleteById(String id) {
-        store.remove(id);
+    public OptionalLong deleteById(String id) {
+        CompletableFuture<?>[] commit = new CompletableFuture<?>[1];
+        OptionalLong deleted = applyDelete(id, commit, 0);
+        awaitCommits(commit);
+        return deleted;
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        CompletableFuture<?>[] commits = new CompletableFuture<?>[ids.size()];
+        List<OptionalLong> deleted = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            deleted.add(applyDelete(id, commits, deleted.size()));
+        }
+        awaitCommits(commits);
+        return deleted;
+    }
+
+    // compute() serializes writers of the same id, so the indexes and the journal
+    // always see writes to one task in the order they were applied. The record is
+    // appended before the indexes are touched: an append that fails (closed or failed
+    // journal, interrupted writer) then aborts the write with the map and its indexes
+    // still agreeing. The journal commit goes into commits[slot] and is awaited after
+    // the map lock is released; bulk operations await once per batch rather than once
+    // per task.
+    private Task applySave(Task task, CompletableFuture<?>[] commits, int slot) {
+        return store.compute(task.getId(), (id, previous) -> {
+            Task next = task.withVersion(generation.incrementAndGet());
+            commits[slot] = journalPut(next);
+            return reindex(previous, next);
+        });
+    }
+
+    private Task applyReplace(long expectedVersion, Task next, CompletableFuture<?>[] commits, int slot) {
+        Task[] replaced = new Task[1];
+        store.computeIfPresent(next.getId(), (id, previous) -> {
+            if (previous.getVersion() != expectedVersion) {
+                return previous;
+            }
+            Task versioned = next.withVersion(generation.incrementAndGet());
+            commits[slot] = journalPut(versioned);
+            replaced[0] = reindex(previous, versioned);
+            return replaced[0];
+        });
+        return replaced[0];
+    }
+
+    private OptionalLong applyDelete(String id, CompletableFuture<?>[] commits, int slot) {
+        long[] deleted = new long[1];
+        store.computeIfPresent(id, (key, previous) -> {
+            long version = generation.incrementAndGet();
+            commits[slot] = journal == null ? null : journal.appendDelete(id, version);
+            unindex(previous);
+            deleted[0] = version;
+            return null;
+        });
+        return deleted[0] == 0 ? OptionalLong.empty() : OptionalLong.of(deleted[0]);
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        return paginate(matching(filter, null), page, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        return paginate(matching(filter, after), 0, size);
+    }
+
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        return matching(new TaskFilter(status, dueAfter, dueBefore, false), null);
+    }
+
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        return searchIndex.search(query, status, limit);
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return statusCounts[status.ordinal()].sum();
     }
 
     @Override
-    public List<Task> findAll(TaskStatus status, int page, int size) {
-        Stream<Task> stream = store.values().stream();
+    public long count(TaskFilter filter) {
+        LocalDate dueBefore = filter.effectiveDueBefore(LocalDate.now());
+        long total = 0;
+        if (filter.dueAfter() == null && dueBefore == null) {
+            for (TaskStatus status : TaskStatus.values()) {
+                if (filter.includes(status)) {
+                    total += statusCounts[status.ordinal()].sum();
+                }
+            }
+            return total;
+        }
 
-        if (status != null) {
-            stream = stream.filter(task -> task.getStatus() == status);
+        long from = filter.dueAfter() == null ? Long.MIN_VALUE : filter.dueAfter().toEpochDay();
+        long to = dueBefore == null ? Long.MAX_VALUE : dueBefore.toEpochDay();
+        if (from >= to) {
+            return 0;
         }
+        for (LongAdder[] counts : dueDateCounts.subMap(from, false, to, false).values()) {
+            for (TaskStatus status : TaskStatus.values()) {
+                if (filter.includes(status)) {
+                    total += counts[status.ordinal()].sum();
+                }
+            }
+        }
+        return total;
+    }
 
-        List<Task> sorted = stream
-                .sorted(Comparator.comparing(Task::getDueDate))
-                .toList();
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        long[] counts = new long[days];
+        for (int i = 0; i < days; i++) {
+            LongAdder[] day = dueDateCounts.get(from.toEpochDay() + i);
+            if (day != null) {
+                counts[i] = day[TaskStatus.PENDING.ordinal()].sum() + day[TaskStatus.IN_PROGRESS.ordinal()].sum();
+            }
+        }
+        return counts;
+    }
 
-        return paginate(sorted, page, size);
+    @Override
+    public long modificationCount() {
+        return modifications.get();
     }
 
-    private List<Task> paginate(List<Task> tasks, int page, int size) {
+    // Within one index, a due-date range is a contiguous run of the skip list, so a query
+    // only walks the tasks it returns. Several statuses without the all-tasks index
+    // (overdue with no status given) are walked side by side and merged in list order.
+    private Stream<Task> matching(TaskFilter filter, TaskCursor after) {
+        LocalDate dueBefore = filter.effectiveDueBefore(LocalDate.now());
+        if (filter.status() == null && !filter.overdue()) {
+            return range(byDueDate, filter.dueAfter(), dueBefore, after).stream();
+        }
+
+        List<Collection<Task>> runs = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            if (filter.includes(status)) {
+                runs.add(range(byStatus.get(status), filter.dueAfter(), dueBefore, after));
+            }
+        }
+        if (runs.size() == 1) {
+            return runs.getFirst().stream();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new MergingIterator(runs.stream().map(Collection::iterator).toList()),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static Collection<Task> range(ConcurrentNavigableMap<TaskSortKey, Task> index,
+                                          LocalDate dueAfter, LocalDate dueBefore, TaskCursor after) {
+        TaskSortKey from = dueAfter == null ? null : new TaskSortKey(dueAfter.plusDays(1), "");
+        boolean fromInclusive = true;
+        if (after != null && (from == null || TaskSortKey.of(after).compareTo(from) >= 0)) {
+            from = TaskSortKey.of(after);
+            fromInclusive = false;
+        }
+        // Tasks without a due date sort last, so any due-date bound ends before them.
+        TaskSortKey to = dueBefore != null ? new TaskSortKey(dueBefore, "")
+                : dueAfter != null ? FIRST_WITHOUT_DUE_DATE
+                : null;
+
+        if (from != null && to != null) {
+            return from.compareTo(to) < 0 ? index.subMap(from, fromInclusive, to, false).values() : List.of();
+        }
+        if (from != null) {
+            return index.tailMap(from, fromInclusive).values();
+        }
+        return to != null ? index.headMap(to, false).values() : index.values();
+    }
+
+    private List<Task> paginate(Stream<Task> tasks, int page, int size) {
         if (size <= 0) {
-            return tasks;
+            return tasks.toList();
         }
 
-        int fromIndex = Math.max(0, page) * size;
-        if (fromIndex >= tasks.size()) {
-            return new ArrayList<>();
+        long fromIndex = (long) Math.max(0, page) * size;
+        return tasks
+                .skip(fromIndex)
+                .limit(size)
+                .toList();
+    }
+
+    // The new entry goes in before the old one comes out, so a concurrent reader never misses the task.
+    private Task reindex(Task previous, Task next) {
+        TaskSortKey key = TaskSortKey.of(next);
+        byDueDate.put(key, next);
+        byStatus.get(next.getStatus()).put(key, next);
+        if (previous == null || previous.getStatus() != next.getStatus()) {
+            statusCounts[next.getStatus().ordinal()].increment();
         }
 
-        int toIndex = Math.min(tasks.size(), fromIndex + size);
-        return tasks.subList(fromIndex, toIndex);
+        if (previous != null) {
+            TaskSortKey previousKey = TaskSortKey.of(previous);
+            if (!previousKey.equals(key)) {
+                byDueDate.remove(previousKey);
+            }
+            if (!previousKey.equals(key) || previous.getStatus() != next.getStatus()) {
+                byStatus.get(previous.getStatus()).remove(previousKey);
+            }
+            if (previous.getStatus() != next.getStatus()) {
+                statusCounts[previous.getStatus().ordinal()].decrement();
+            }
+        }
+        if (previous == null || previous.getStatus() != next.getStatus()
+                || !Objects.equals(previous.getDueDate(), next.getDueDate())) {
+            countDueDate(next, 1);
+            if (previous != null) {
+                countDueDate(previous, -1);
+            }
+        }
+        searchIndex.update(previous, next);
+        modifications.incrementAndGet();
+        return next;
+    }
+
+    private void countDueDate(Task task, int delta) {
+        if (task.getDueDate() == null) {
+            return;
+        }
+        dueDateCounts.computeIfAbsent(task.getDueDate().toEpochDay(), day -> {
+            LongAdder[] counts = new LongAdder[TaskStatus.values().length];
+            Arrays.setAll(counts, i -> new LongAdder());
+            return counts;
+        })[task.getStatus().ordinal()].add(delta);
+    }
+
+    private void unindex(Task task) {
+        TaskSortKey key = TaskSortKey.of(task);
+        byDueDate.remove(key);
+        byStatus.get(task.getStatus()).remove(key);
+        statusCounts[task.getStatus().ordinal()].decrement();
+        countDueDate(task, -1);
+        searchIndex.remove(task);
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Writes a snapshot of the current contents without blocking writers, then drops
+     * the journal segments it makes redundant.
+     */
+    public TaskSnapshotStore.SnapshotInfo checkpoint() {
+        if (snapshots == null) {
+            throw new IllegalStateException("Snapshots are not enabled for this repository");
+        }
+        long boundary = journal == null ? 0 : journal.roll();
+        TaskSnapshotStore.SnapshotInfo snapshot = snapshots.write(boundary, generation.get(), store.values());
+        if (journal != null) {
+            journal.deleteSegmentsBefore(boundary - 1);
+        }
+        return snapshot;
+    }
+
+    private CompletableFuture<?> journalPut(Task task) {
+        return journal == null ? null : journal.appendPut(task);
+    }
+
+    private void awaitCommits(CompletableFuture<?>[] commits) {
+        for (CompletableFuture<?> commit : commits) {
+            if (commit != null) {
+                TaskJournal.await(commit);
+            }
+        }
     }
 
     public void clear() {
+        if (journal != null) {
+            store.keySet().forEach(this::deleteById);
+            return;
+        }
         store.clear();
+        byDueDate.clear();
+        byStatus.values().forEach(Map::clear);
+        searchIndex.clear();
+        for (LongAdder count : statusCounts) {
+            count.reset();
+        }
+        dueDateCounts.clear();
+        modifications.incrementAndGet();
+    }
+
+    /*
+     * Applies snapshot and journal records without journaling them again. Records are
+     * applied only if newer than what is already there, so replaying a record that the
+     * snapshot already reflects is harmless.
+     */
+    private class Recovery implements JournalReplayHandler {
+
+        private final Map<String, Long> deletedVersions = new ConcurrentHashMap<>();
+
+        @Override
+        public void put(Task task) {
+            generation.accumulateAndGet(task.getVersion(), Math::max);
+            store.compute(task.getId(), (id, previous) -> {
+                long newest = Math.max(previous == null ? 0 : previous.getVersion(),
+                        deletedVersions.getOrDefault(id, 0L));
+                return task.getVersion() > newest ? reindex(previous, task) : previous;
+            });
+        }
+
+        @Override
+        public void delete(String id, long version) {
+            generation.accumulateAndGet(version, Math::max);
+            deletedVersions.merge(id, version, Math::max);
+            store.computeIfPresent(id, (key, previous) -> {
+                if (previous.getVersion() > version) {
+                    return previous;
+                }
+                unindex(previous);
+                return null;
+            });
+        }
     }
 }
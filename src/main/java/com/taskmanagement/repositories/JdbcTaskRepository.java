@@ -0,0 +1,524 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store in a relational database, over plain JDBC and whatever pool backs the
+ * {@link DataSource}.
+ * <p>
+ * Due dates are kept as an epoch-day column that sorts tasks without one last, so list
+ * order is the index order of {@code (due_day, id)}, and status queries walk
+ * {@code (status, due_day, id)}. Cursor pages are keyset queries on those indexes; bulk
+ * writes go out as JDBC batches in one transaction. Reads hand rows over as they are
+ * fetched instead of materializing the whole result. Counts are {@code COUNT} queries on
+ * the same indexes rather than counters, since other processes may write the table.
+ * <p>
+ * Versions and {@link #modificationCount()} are issued by this instance, so the table must
+ * have a single writing application instance.
+ */
+public class JdbcTaskRepository implements TaskRepository {
+
+    static final long NO_DUE_DATE = Long.MAX_VALUE;
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 512;
+
+    private static final String COLUMNS = "id, title, description, status, due_day, version";
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS tasks (
+                id VARCHAR(255) NOT NULL PRIMARY KEY,
+                title VARCHAR(1000000),
+                description VARCHAR(1000000),
+                status VARCHAR(16) NOT NULL,
+                due_day BIGINT NOT NULL,
+                version BIGINT NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS tasks_status_due_day ON tasks (status, due_day, id)",
+            "CREATE INDEX IF NOT EXISTS tasks_due_day ON tasks (due_day, id)"
+    };
+    private static final String INSERT = "INSERT INTO tasks (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE tasks SET title = ?, description = ?, status = ?, due_day = ?, version = ?"
+            + " WHERE id = ?";
+    private static final String REPLACE = UPDATE + " AND version = ?";
+    private static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final AtomicLong generation;
+    private final AtomicLong modifications = new AtomicLong(System.currentTimeMillis() << 20);
+
+    public JdbcTaskRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+            try (ResultSet max = statement.executeQuery("SELECT MAX(version) FROM tasks")) {
+                max.next();
+                this.generation = new AtomicLong(max.getLong(1));
+            }
+        } catch (SQLException ex) {
+            throw failure("Cannot initialize the task table", ex);
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        return saveAll(List.of(task)).getFirst();
+    }
+
+    /**
+     * Updates the tasks that exist and inserts the rest, as two batches in one transaction.
+     */
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            saved.add(task.withVersion(generation.incrementAndGet()));
+        }
+        inTransaction(connection -> {
+            List<Task> missing = new ArrayList<>();
+            int[] updated = batch(connection, UPDATE, saved, (statement, task) -> {
+                bindValues(statement, task, 1);
+                statement.setString(6, task.getId());
+            });
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    missing.add(saved.get(i));
+                }
+            }
+            batch(connection, INSERT, missing, (statement, task) -> {
+                statement.setString(1, task.getId());
+                bindValues(statement, task, 2);
+            });
+            return null;
+        });
+        modifications.incrementAndGet();
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        return replaceAll(List.of(new TaskReplacement(expectedVersion, next))).getFirst();
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        List<Task> candidates = new ArrayList<>(replacements.size());
+        for (TaskReplacement replacement : replacements) {
+            candidates.add(replacement.next().withVersion(generation.incrementAndGet()));
+        }
+        int[] updated = inTransaction(connection -> {
+            int[] position = {0};
+            return batch(connection, REPLACE, candidates, (statement, task) -> {
+                bindValues(statement, task, 1);
+                statement.setString(6, task.getId());
+                statement.setLong(7, replacements.get(position[0]++).expectedVersion());
+            });
+        });
+        List<Optional<Task>> replaced = new ArrayList<>(candidates.size());
+        for (int i = 0; i < updated.length; i++) {
+            replaced.add(updated[i] == 0 ? Optional.empty() : Optional.of(candidates.get(i)));
+        }
+        modified(updated);
+        return replaced;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS + " FROM tasks WHERE id = ?")) {
+            statement.setString(1, id);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? Optional.of(toTask(rows)) : Optional.empty();
+            }
+        } catch (SQLException ex) {
+            throw failure("Cannot read task " + id, ex);
+        }
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        return deleteAllById(List.of(id)).getFirst();
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        int[] deletedRows = inTransaction(connection -> batch(connection, DELETE, List.copyOf(ids),
+                (statement, id) -> statement.setString(1, id)));
+        List<OptionalLong> deleted = new ArrayList<>(deletedRows.length);
+        for (int count : deletedRows) {
+            deleted.add(count == 0 ? OptionalLong.empty() : OptionalLong.of(generation.incrementAndGet()));
+        }
+        modified(deletedRows);
+        return deleted;
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        Query query = select(filter, null);
+        if (size > 0) {
+            query.sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+            query.parameters.add((long) Math.max(0, page) * size);
+            query.parameters.add(size);
+        }
+        try (Stream<Task> tasks = query.stream()) {
+            return tasks.toList();
+        }
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        Query query = select(filter, after);
+        if (size > 0) {
+            query.sql.append(" FETCH FIRST ? ROWS ONLY");
+            query.parameters.add(size);
+        }
+        try (Stream<Task> tasks = query.stream()) {
+            return tasks.toList();
+        }
+    }
+
+    /**
+     * Streams rows straight off an open result set; closing the stream releases its connection.
+     */
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        return select(new TaskFilter(status, dueAfter, dueBefore, false), null).stream();
+    }
+
+    /**
+     * Narrows candidates to rows containing every query word as a substring, then tokenizes
+     * and ranks those exactly as the in-memory index would.
+     */
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        TaskSearchIndex.Scan scan = new TaskSearchIndex.Scan(query, status, limit);
+        if (scan.isEmpty()) {
+            return List.of();
+        }
+        Query candidates = new Query("SELECT " + COLUMNS + " FROM tasks WHERE 1 = 1");
+        if (status != null) {
+            candidates.and("status = ?", status.name());
+        }
+        for (String word : scan.words()) {
+            candidates.and("LOWER(COALESCE(title, '') || ' ' || COALESCE(description, '')) LIKE ?", "%" + word + "%");
+        }
+        try (Stream<Task> tasks = candidates.stream()) {
+            tasks.forEach(scan::offer);
+        }
+        return scan.result();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return count(TaskFilter.of(status));
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        Query query = new Query("SELECT COUNT(*) FROM tasks WHERE 1 = 1");
+        if (!where(query, filter, null)) {
+            return 0;
+        }
+        return query.read(rows -> {
+            rows.next();
+            return rows.getLong(1);
+        });
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        long first = from.toEpochDay();
+        Query query = new Query("SELECT due_day, COUNT(*) FROM tasks WHERE status IN (?, ?) AND due_day >= ? AND due_day < ?"
+                + " GROUP BY due_day");
+        query.parameters.addAll(List.of(TaskStatus.PENDING.name(), TaskStatus.IN_PROGRESS.name(), first, first + days));
+        return query.read(rows -> {
+            long[] counts = new long[days];
+            while (rows.next()) {
+                counts[(int) (rows.getLong(1) - first)] = rows.getLong(2);
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    // Counted once per statement that changed rows, after its transaction committed.
+    private void modified(int[] updateCounts) {
+        for (int count : updateCounts) {
+            if (count != 0) {
+                modifications.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /* ---------- SQL ---------- */
+
+    private Query select(TaskFilter filter, TaskCursor after) {
+        Query query = new Query("SELECT " + COLUMNS + " FROM tasks WHERE 1 = 1");
+        if (!where(query, filter, after)) {
+            query.sql.append(" AND 1 = 0");
+        }
+        query.sql.append(" ORDER BY due_day, id");
+        return query;
+    }
+
+    // Returns false when the filter can match nothing, such as an empty due-date range.
+    private static boolean where(Query query, TaskFilter filter, TaskCursor after) {
+        List<String> statuses = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            if (filter.includes(status)) {
+                statuses.add(status.name());
+            }
+        }
+        if (statuses.size() < TaskStatus.values().length) {
+            query.and("status IN (" + String.join(", ", statuses.stream().map(s -> "?").toList()) + ")",
+                    statuses.toArray());
+        }
+
+        LocalDate dueBefore = filter.effectiveDueBefore(LocalDate.now());
+        if (filter.dueAfter() != null && dueBefore != null && !filter.dueAfter().isBefore(dueBefore)) {
+            return false;
+        }
+        if (filter.dueAfter() != null) {
+            query.and("due_day > ?", filter.dueAfter().toEpochDay());
+        }
+        // Tasks without a due date only match when no due-date bound is set.
+        if (dueBefore != null) {
+            query.and("due_day < ?", dueBefore.toEpochDay());
+        } else if (filter.dueAfter() != null) {
+            query.and("due_day < ?", NO_DUE_DATE);
+        }
+        if (after != null) {
+            long day = dueDay(after.dueDate());
+            query.and("(due_day > ? OR due_day = ? AND id > ?)", day, day, after.id());
+        }
+        return true;
+    }
+
+    private static void bindValues(PreparedStatement statement, Task task, int first) throws SQLException {
+        statement.setString(first, task.getTitle());
+        statement.setString(first + 1, task.getDescription());
+        statement.setString(first + 2, task.getStatus().name());
+        statement.setLong(first + 3, dueDay(task.getDueDate()));
+        statement.setLong(first + 4, task.getVersion());
+    }
+
+    private static Task toTask(ResultSet rows) throws SQLException {
+        long dueDay = rows.getLong(5);
+        return new Task(
+                rows.getString(1),
+                rows.getString(2),
+                rows.getString(3),
+                TaskStatus.valueOf(rows.getString(4)),
+                dueDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDay),
+                rows.getLong(6));
+    }
+
+    private static long dueDay(LocalDate dueDate) {
+        return dueDate == null ? NO_DUE_DATE : dueDate.toEpochDay();
+    }
+
+    // Update counts per item, sent BATCH_SIZE statements at a time.
+    private static <T> int[] batch(Connection connection, String sql, List<T> items, Binder<T> binder)
+            throws SQLException {
+        int[] counts = new int[items.size()];
+        if (items.isEmpty()) {
+            return counts;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int sent = 0;
+            for (int i = 0; i < items.size(); i++) {
+                binder.bind(statement, items.get(i));
+                statement.addBatch();
+                if (i - sent + 1 == BATCH_SIZE || i == items.size() - 1) {
+                    int[] chunk = statement.executeBatch();
+                    System.arraycopy(chunk, 0, counts, sent, chunk.length);
+                    sent = i + 1;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private <T> T inTransaction(Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException ex) {
+            throw failure("Task store write failed", ex);
+        }
+    }
+
+    private static IllegalStateException failure(String message, SQLException ex) {
+        return new IllegalStateException(message + ": " + ex.getMessage(), ex);
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(ResultSet rows) throws SQLException;
+    }
+
+    private final class Query {
+
+        final StringBuilder sql;
+        final List<Object> parameters = new ArrayList<>();
+
+        Query(String sql) {
+            this.sql = new StringBuilder(sql);
+        }
+
+        void and(String condition, Object... values) {
+            sql.append(" AND ").append(condition);
+            parameters.addAll(List.of(values));
+        }
+
+        <T> T read(RowReader<T> reader) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = prepare(connection);
+                 ResultSet rows = statement.executeQuery()) {
+                return reader.read(rows);
+            } catch (SQLException ex) {
+                throw failure("Task store query failed", ex);
+            }
+        }
+
+        Stream<Task> stream() {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                // PostgreSQL only honours the fetch size inside a transaction; in auto-commit it
+                // buffers the whole result first. MySQL ignores it either way and needs
+                // useCursorFetch=true on the JDBC URL to stream.
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                PreparedStatement statement = prepare(connection);
+                statement.setFetchSize(FETCH_SIZE);
+                ResultSet rows = statement.executeQuery();
+                Connection owner = connection;
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RowIterator(rows),
+                                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                        .onClose(() -> {
+                            try {
+                                release(owner);
+                            } catch (SQLException ex) {
+                                throw failure("Cannot close task query", ex);
+                            }
+                        });
+            } catch (SQLException ex) {
+                if (connection != null) {
+                    try {
+                        release(connection);
+                    } catch (SQLException suppressed) {
+                        ex.addSuppressed(suppressed);
+                    }
+                }
+                throw failure("Task store query failed", ex);
+            }
+        }
+
+        /**
+         * Ends the read-only transaction {@link #stream} opened and closes the connection,
+         * which also closes its statement and result set.
+         */
+        private static void release(Connection connection) throws SQLException {
+            try (connection) {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        }
+
+        private PreparedStatement prepare(Connection connection) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }
+    }
+
+    private static final class RowIterator implements Iterator<Task> {
+
+        private final ResultSet rows;
+        private Boolean ready;
+
+        RowIterator(ResultSet rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (ready == null) {
+                try {
+                    ready = rows.next();
+                } catch (SQLException ex) {
+                    throw failure("Task store query failed", ex);
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = null;
+            try {
+                return toTask(rows);
+            } catch (SQLException ex) {
+                throw failure("Task store query failed", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Adds a fixed delay to every call, standing in for a network round trip to a remote
+ * store. Used to compare request threading modes under I/O-bound load; each bulk call
+ * pays the delay once, as one round trip would.
+ */
+public class LatencySimulatingTaskRepository implements TaskRepository {
+
+    private final TaskRepository delegate;
+    private final Duration latency;
+
+    public LatencySimulatingTaskRepository(TaskRepository delegate, Duration latency) {
+        this.delegate = delegate;
+        this.latency = latency;
+    }
+
+    @Override
+    public Task save(Task task) {
+        roundTrip();
+        return delegate.save(task);
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        roundTrip();
+        return delegate.replace(expectedVersion, next);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        roundTrip();
+        return delegate.findById(id);
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        roundTrip();
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        roundTrip();
+        return delegate.findAll(filter, page, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        roundTrip();
+        return delegate.findAllAfter(filter, after, size);
+    }
+
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        roundTrip();
+        return delegate.stream(status, dueAfter, dueBefore);
+    }
+
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        roundTrip();
+        return delegate.search(query, status, limit);
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        return delegate.countOpenByDueDate(from, days);
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        roundTrip();
+        return delegate.saveAll(tasks);
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        roundTrip();
+        return delegate.replaceAll(replacements);
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        roundTrip();
+        return delegate.deleteAllById(ids);
+    }
+
+    private void roundTrip() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during simulated repository latency", ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merges runs that are each in list order into a single run in list order, pulling one
+ * task at a time from whichever run has the smallest head.
+ */
+final class MergingIterator implements Iterator<Task> {
+
+    private final PriorityQueue<Run> runs;
+
+    MergingIterator(List<Iterator<Task>> runs) {
+        this.runs = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> TaskSortKey.compare(a.head, b.head));
+        for (Iterator<Task> run : runs) {
+            if (run.hasNext()) {
+                this.runs.add(new Run(run));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !runs.isEmpty();
+    }
+
+    @Override
+    public Task next() {
+        Run smallest = runs.poll();
+        if (smallest == null) {
+            throw new NoSuchElementException();
+        }
+        Task next = smallest.head;
+        if (smallest.tasks.hasNext()) {
+            smallest.head = smallest.tasks.next();
+            runs.add(smallest);
+        }
+        return next;
+    }
+
+    private static final class Run {
+
+        final Iterator<Task> tasks;
+        Task head;
+
+        Run(Iterator<Task> tasks) {
+            this.tasks = tasks;
+            this.head = tasks.next();
+        }
+    }
+}
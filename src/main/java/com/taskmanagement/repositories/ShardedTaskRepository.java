@@ -0,0 +1,232 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Partitions tasks over independent stores by a hash of their id.
+ * <p>
+ * Every shard has its own map, ordered indexes, search index and counters, so writes to
+ * different shards share no state. A read that spans shards asks each one for its first
+ * rows in list order and k-way merges them: a page at offset {@code n} needs the first
+ * {@code n + size} rows of every shard. Fan-outs that return many rows, and searches, run
+ * the shards in parallel on the common fork-join pool. Versions grow per shard, so they
+ * still only ever grow for one task, but no longer across the whole store.
+ */
+public class ShardedTaskRepository implements TaskRepository {
+
+    // Below this many rows per shard, asking the shards in turn beats handing them to other threads.
+    private static final int PARALLEL_ROWS = 1024;
+
+    private final TaskRepository[] shards;
+    private final long[] initialModifications;
+    private final long modificationBase = System.currentTimeMillis() << 20;
+
+    public ShardedTaskRepository(List<? extends TaskRepository> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = shards.toArray(TaskRepository[]::new);
+        this.initialModifications = Arrays.stream(this.shards).mapToLong(TaskRepository::modificationCount).toArray();
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public Task save(Task task) {
+        return shardOf(task.getId()).save(task);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return scatter(tasks, Task::getId, TaskRepository::saveAll);
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        return shardOf(next.getId()).replace(expectedVersion, next);
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        return scatter(replacements, replacement -> replacement.next().getId(), TaskRepository::replaceAll);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return shardOf(id).findById(id);
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        return shardOf(id).deleteById(id);
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        return scatter(List.copyOf(ids), Function.identity(), TaskRepository::deleteAllById);
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        if (size <= 0) {
+            return merge(fanOut(shard -> shard.findAll(filter, 0, 0), Integer.MAX_VALUE), 0, Integer.MAX_VALUE);
+        }
+        long skip = (long) Math.max(0, page) * size;
+        int keep = (int) Math.min(Integer.MAX_VALUE, skip + size);
+        return merge(fanOut(shard -> shard.findAll(filter, 0, keep), keep), skip, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        int keep = size <= 0 ? Integer.MAX_VALUE : size;
+        return merge(fanOut(shard -> shard.findAllAfter(filter, after, size), keep), 0, keep);
+    }
+
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        List<Stream<Task>> streams = Arrays.stream(shards)
+                .map(shard -> shard.stream(status, dueAfter, dueBefore))
+                .toList();
+        Iterator<Task> merged = new MergingIterator(streams.stream().map(Stream::iterator).toList());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    /**
+     * Each shard's best {@code limit} matches, ranked again together. The global best are
+     * among them, and ranking only depends on a task's own text and list position.
+     */
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        TaskSearchIndex.Scan scan = new TaskSearchIndex.Scan(query, status, limit);
+        for (List<Task> matches : fanOut(shard -> shard.search(query, status, limit), Integer.MAX_VALUE)) {
+            matches.forEach(scan::offer);
+        }
+        return scan.result();
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        long total = 0;
+        for (TaskRepository shard : shards) {
+            total += shard.countByStatus(status);
+        }
+        return total;
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        long total = 0;
+        for (TaskRepository shard : shards) {
+            total += shard.count(filter);
+        }
+        return total;
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        long[] total = new long[days];
+        for (TaskRepository shard : shards) {
+            long[] counts = shard.countOpenByDueDate(from, days);
+            for (int i = 0; i < days; i++) {
+                total[i] += counts[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sum of the shards' own counts. Each only grows once its change is visible, so the sum
+     * does too, and a read started after observing it sees every change it counts.
+     */
+    @Override
+    public long modificationCount() {
+        long total = modificationBase;
+        for (int i = 0; i < shards.length; i++) {
+            total += shards[i].modificationCount() - initialModifications[i];
+        }
+        return total;
+    }
+
+    private TaskRepository shardOf(String id) {
+        return shards[indexOf(id)];
+    }
+
+    private int indexOf(String id) {
+        int hash = id.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private <T> List<List<T>> groups() {
+        List<List<T>> groups = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        return groups;
+    }
+
+    /**
+     * Applies a bulk operation shard by shard, one call per shard, and returns the results
+     * in the order of {@code items}.
+     */
+    private <T, R> List<R> scatter(List<T> items, Function<T, String> id,
+                                   BiFunction<TaskRepository, List<T>, List<R>> operation) {
+        int[] shardOfItem = new int[items.size()];
+        List<List<T>> groups = groups();
+        for (int i = 0; i < shardOfItem.length; i++) {
+            shardOfItem[i] = indexOf(id.apply(items.get(i)));
+            groups.get(shardOfItem[i]).add(items.get(i));
+        }
+
+        List<List<R>> results = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            results.add(groups.get(i).isEmpty() ? List.of() : operation.apply(shards[i], groups.get(i)));
+        }
+        int[] positions = new int[shards.length];
+        List<R> ordered = new ArrayList<>(items.size());
+        for (int shard : shardOfItem) {
+            ordered.add(results.get(shard).get(positions[shard]++));
+        }
+        return ordered;
+    }
+
+    private List<List<Task>> fanOut(Function<TaskRepository, List<Task>> query, long rowsPerShard) {
+        Stream<TaskRepository> targets = Arrays.stream(shards);
+        if (rowsPerShard >= PARALLEL_ROWS && shards.length > 1) {
+            targets = targets.parallel();
+        }
+        return targets.map(query).toList();
+    }
+
+    private static List<Task> merge(List<List<Task>> runs, long skip, int limit) {
+        Iterator<Task> merged = new MergingIterator(runs.stream().map(List::iterator).toList());
+        List<Task> page = new ArrayList<>((int) Math.min(limit, runs.stream().mapToLong(List::size).sum()));
+        for (long i = 0; i < skip && merged.hasNext(); i++) {
+            merged.next();
+        }
+        while (page.size() < limit && merged.hasNext()) {
+            page.add(merged.next());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+
+/**
+ * One compare-and-set of a bulk {@link TaskRepository#replaceAll}: store {@code next}
+ * if the task is still at {@code expectedVersion}.
+ */
+public record TaskReplacement(long expectedVersion, Task next) {
+}
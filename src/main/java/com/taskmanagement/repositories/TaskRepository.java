@@ -1,18 +1,94 @@
 package com.taskmanagement.repositories;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 public interface TaskRepository {
 
     Task save(Task task);
 
+    /**
+     * Stores {@code next} only if the task's current version is {@code expectedVersion}.
+     * Returns the stored snapshot, or empty if the task is missing or was modified concurrently.
+     */
+    Optional<Task> replace(long expectedVersion, Task next);
+
     Optional<Task> findById(String id);
 
-    void deleteById(String id);
+    /**
+     * Removes the task. Returns the version its deletion was recorded at, newer than any
+     * version the task had, or empty if there was no such task.
+     */
+    OptionalLong deleteById(String id);
+
+    List<Task> findAll(TaskFilter filter, int page, int size);
+
+    List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size);
+
+    /**
+     * Lazily walks tasks in list order, optionally restricted to one status and to due dates
+     * strictly between {@code dueAfter} and {@code dueBefore}. The walk is weakly consistent
+     * with concurrent writes and does not copy the matching tasks up front.
+     */
+    Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore);
+
+    /**
+     * Tasks whose title or description contains every word of {@code query}, ranked by how
+     * often those words occur, optionally restricted to one status. A word ending in
+     * {@code *} matches every word it is a prefix of. {@code limit <= 0} returns all matches.
+     */
+    List<Task> search(String query, TaskStatus status, int limit);
+
+    long countByStatus(TaskStatus status);
+
+    /**
+     * Number of tasks {@link #findAll} would return for {@code filter} without paging, read
+     * from counters maintained on every write rather than by walking the tasks.
+     */
+    long count(TaskFilter filter);
+
+    /**
+     * Tasks not yet done that are due on each of the {@code days} days starting at {@code from}.
+     */
+    long[] countOpenByDueDate(LocalDate from, int days);
+
+    /**
+     * Counter that increases after each change becomes visible to reads. A read started after
+     * observing a value reflects every change that value counts, so an unchanged value means
+     * an earlier result for the same query is still current.
+     */
+    long modificationCount();
+
+    /* ---------- Bulk operations ---------- */
+
+    default List<Task> saveAll(List<Task> tasks) {
+        return tasks.stream().map(this::save).toList();
+    }
+
+    /**
+     * Applies each replacement as {@link #replace} would; the result at each position
+     * is empty where that compare-and-set failed.
+     */
+    default List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        return replacements.stream()
+                .map(replacement -> replace(replacement.expectedVersion(), replacement.next()))
+                .toList();
+    }
 
-    List<Task> findAll(TaskStatus status, int page, int size);
+    /**
+     * Deletes each id as {@link #deleteById} would; the result at each position is empty
+     * where there was nothing to delete, including an id repeated earlier in {@code ids}.
+     */
+    default List<OptionalLong> deleteAllById(Collection<String> ids) {
+        return ids.stream().map(this::deleteById).toList();
+    }
 }
@@ -0,0 +1,562 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Inverted index over the words of task titles and descriptions.
+ * <p>
+ * Every indexed task holds a small document number, reused once the task is deleted.
+ * A term's postings hold the documents and the term's frequency in each, sorted by
+ * document number, so that conjunctive queries walk the shortest list and skip through
+ * the others. Terms are kept sorted, which makes a prefix query a range of the term map.
+ * <p>
+ * Postings are copy-on-write and split into blocks, so a writer only copies the block it
+ * changes and swaps the new postings in atomically. Searches take no lock and never hold
+ * up writers. Matches are resolved to tasks through the store when a search ranks them,
+ * so a write that leaves the text alone does not touch the index at all. Postings a search
+ * read may be out of date by then, and may name a document number already handed to
+ * another task, so each hit that would make the ranking is checked against its current
+ * text and scored from it before it is kept.
+ */
+final class TaskSearchIndex {
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::score).reversed()
+            .thenComparing((a, b) -> TaskSortKey.compare(a.task(), b.task()));
+
+    private final Function<String, Task> tasks;
+    private final ConcurrentNavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> documents = new ConcurrentHashMap<>();
+
+    // Document numbers are handed out and given back under this object's monitor. Searches
+    // read ids without it: an id is stored before any postings name its document.
+    private volatile String[] ids = new String[1024];
+    private int nextDocument;
+    private int[] freeDocuments = new int[64];
+    private int freeCount;
+
+    /**
+     * @param tasks looks up the current task for an indexed id, or null once it is gone
+     */
+    TaskSearchIndex(Function<String, Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Indexes {@code next} in place of {@code previous}. Callers serialize updates of the
+     * same task; updates of different tasks may run concurrently.
+     */
+    void update(Task previous, Task next) {
+        if (previous != null
+                && Objects.equals(previous.getTitle(), next.getTitle())
+                && Objects.equals(previous.getDescription(), next.getDescription())) {
+            return;
+        }
+        Map<String, Integer> removed = previous != null ? termFrequencies(previous) : Map.of();
+        Map<String, Integer> added = termFrequencies(next);
+
+        Integer existing = documents.get(next.getId());
+        int document = existing != null ? existing : allocate(next.getId());
+        for (String term : removed.keySet()) {
+            if (!added.containsKey(term)) {
+                terms.computeIfPresent(term, (t, postings) -> postings.without(document));
+            }
+        }
+        added.forEach((term, frequency) -> {
+            if (!frequency.equals(removed.get(term))) {
+                terms.compute(term, (t, postings) -> postings == null
+                        ? Postings.of(document, frequency)
+                        : postings.with(document, frequency));
+            }
+        });
+    }
+
+    void remove(Task task) {
+        Integer document = documents.remove(task.getId());
+        if (document == null) {
+            return;
+        }
+        for (String term : termFrequencies(task).keySet()) {
+            terms.computeIfPresent(term, (t, postings) -> postings.without(document));
+        }
+        release(document);
+    }
+
+    synchronized void clear() {
+        terms.clear();
+        documents.clear();
+        ids = new String[1024];
+        nextDocument = 0;
+        freeCount = 0;
+    }
+
+    /**
+     * Tasks containing every word of {@code query}, ranked by the summed frequency of the
+     * query's words and then in list order. A word ending in {@code *} matches any word
+     * it is a prefix of. {@code limit <= 0} returns every match.
+     */
+    List<Task> search(String query, TaskStatus status, int limit) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            return List.of();
+        }
+
+        Postings[] lists = new Postings[clauses.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = resolve(clauses.get(i));
+            if (lists[i] == null) {
+                return List.of();
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        Postings.Cursor[] others = new Postings.Cursor[lists.length - 1];
+        for (int l = 1; l < lists.length; l++) {
+            others[l - 1] = lists[l].cursor();
+        }
+        // Read after the postings, so it holds the id of every document they name.
+        String[] ids = this.ids;
+        Postings shortest = lists[0];
+        for (int b = 0; b < shortest.documents.length; b++) {
+            int[] blockDocuments = shortest.documents[b];
+            int[] blockFrequencies = shortest.frequencies[b];
+            candidates:
+            for (int i = 0; i < blockDocuments.length; i++) {
+                int document = blockDocuments[i];
+                int score = blockFrequencies[i];
+                for (Postings.Cursor other : others) {
+                    int frequency = other.advanceTo(document);
+                    if (frequency == 0) {
+                        continue candidates;
+                    }
+                    score += frequency;
+                }
+                String id = ids[document];
+                Task task = id == null ? null : tasks.apply(id);
+                if (task == null || status != null && task.getStatus() != status
+                        || !competes(best, limit, task, score)) {
+                    continue;
+                }
+                int current = score(clauses, task);
+                if (current > 0) {
+                    offer(best, limit, task, current);
+                }
+            }
+        }
+        return ranked(best);
+    }
+
+    private static void offer(PriorityQueue<Hit> best, int limit, Task task, int score) {
+        // Most candidates of a broad query lose to the current worst hit; reject them without allocating.
+        if (!competes(best, limit, task, score)) {
+            return;
+        }
+        if (limit > 0 && best.size() == limit) {
+            best.poll();
+        }
+        best.add(new Hit(task, score));
+    }
+
+    private static boolean competes(PriorityQueue<Hit> best, int limit, Task task, int score) {
+        if (limit <= 0 || best.size() < limit) {
+            return true;
+        }
+        Hit worst = best.peek();
+        return score > worst.score() || score == worst.score() && TaskSortKey.compare(task, worst.task()) <= 0;
+    }
+
+    /**
+     * The summed frequency of the clauses' words in the task's text, or 0 unless every
+     * clause matches.
+     */
+    private static int score(List<Clause> clauses, Task task) {
+        Map<String, Integer> frequencies = termFrequencies(task);
+        int score = 0;
+        for (Clause clause : clauses) {
+            int matched = 0;
+            if (clause.prefix()) {
+                for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                    if (term.getKey().startsWith(clause.word())) {
+                        matched += term.getValue();
+                    }
+                }
+            } else {
+                matched = frequencies.getOrDefault(clause.word(), 0);
+            }
+            if (matched == 0) {
+                return 0;
+            }
+            score += matched;
+        }
+        return score;
+    }
+
+    private static List<Task> ranked(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits.stream().map(Hit::task).toList();
+    }
+
+    private Postings resolve(Clause clause) {
+        if (!clause.prefix()) {
+            return terms.get(clause.word());
+        }
+        Map<String, Postings> expansions = terms.subMap(clause.word(), true, clause.word() + Character.MAX_VALUE, true);
+        Postings only = null;
+        int total = 0;
+        int count = 0;
+        List<Postings> snapshot = new ArrayList<>();
+        for (Postings postings : expansions.values()) {
+            snapshot.add(postings);
+            only = postings;
+            total += postings.size;
+            count++;
+        }
+        if (count <= 1) {
+            return only;
+        }
+        // Merged by sorting the postings themselves, so the work and memory follow the
+        // number of matches rather than the size of the store. A task matching several
+        // expansions counts the frequencies of all of them.
+        long[] entries = new long[total];
+        int n = 0;
+        for (Postings postings : snapshot) {
+            for (int b = 0; b < postings.documents.length; b++) {
+                int[] blockDocuments = postings.documents[b];
+                int[] blockFrequencies = postings.frequencies[b];
+                for (int i = 0; i < blockDocuments.length; i++) {
+                    entries[n++] = (long) blockDocuments[i] << 32 | blockFrequencies[i];
+                }
+            }
+        }
+        Arrays.sort(entries);
+        int[] mergedDocuments = new int[total];
+        int[] mergedFrequencies = new int[total];
+        int matched = 0;
+        for (long entry : entries) {
+            int document = (int) (entry >>> 32);
+            if (matched > 0 && mergedDocuments[matched - 1] == document) {
+                mergedFrequencies[matched - 1] += (int) entry;
+            } else {
+                mergedDocuments[matched] = document;
+                mergedFrequencies[matched] = (int) entry;
+                matched++;
+            }
+        }
+        return Postings.of(mergedDocuments, mergedFrequencies, matched);
+    }
+
+    private synchronized int allocate(String id) {
+        int document;
+        if (freeCount > 0) {
+            document = freeDocuments[--freeCount];
+        } else {
+            document = nextDocument++;
+            if (document == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+        ids[document] = id;
+        documents.put(id, document);
+        return document;
+    }
+
+    private synchronized void release(int document) {
+        ids[document] = null;
+        if (freeCount == freeDocuments.length) {
+            freeDocuments = Arrays.copyOf(freeDocuments, freeCount * 2);
+        }
+        freeDocuments[freeCount++] = document;
+    }
+
+    /* ---------- Tokenizing ---------- */
+
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        for (String part : query.trim().split("\\s+")) {
+            boolean prefix = part.endsWith("*");
+            List<String> words = new ArrayList<>();
+            tokenize(prefix ? part.substring(0, part.length() - 1) : part, words);
+            for (int i = 0; i < words.size(); i++) {
+                clauses.add(new Clause(words.get(i), prefix && i == words.size() - 1));
+            }
+        }
+        return clauses;
+    }
+
+    private static Map<String, Integer> termFrequencies(Task task) {
+        List<String> words = new ArrayList<>();
+        tokenize(task.getTitle(), words);
+        tokenize(task.getDescription(), words);
+        Map<String, Integer> frequencies = new HashMap<>(words.size() * 2);
+        for (String word : words) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Splits on anything that is not a letter or digit and lower-cases the pieces.
+     */
+    private static void tokenize(String text, List<String> words) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Matches and ranks tasks one at a time exactly as {@link #search} would, for stores that
+     * keep no index and tokenize every candidate instead.
+     */
+    static final class Scan {
+
+        private final List<Clause> clauses;
+        private final TaskStatus status;
+        private final int limit;
+        private final PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+
+        Scan(String query, TaskStatus status, int limit) {
+            this.clauses = parse(query);
+            this.status = status;
+            this.limit = limit;
+        }
+
+        boolean isEmpty() {
+            return clauses.isEmpty();
+        }
+
+        /**
+         * The lower-case words every match contains somewhere in its text, whole or as a prefix.
+         */
+        List<String> words() {
+            return clauses.stream().map(Clause::word).toList();
+        }
+
+        void offer(Task task) {
+            if (clauses.isEmpty() || status != null && task.getStatus() != status) {
+                return;
+            }
+            int score = score(clauses, task);
+            if (score > 0) {
+                TaskSearchIndex.offer(best, limit, task, score);
+            }
+        }
+
+        List<Task> result() {
+            return ranked(best);
+        }
+    }
+
+    private record Clause(String word, boolean prefix) {
+    }
+
+    private record Hit(Task task, int score) {
+    }
+
+    /**
+     * Immutable postings of one term, split into blocks of at most {@code 2 * BLOCK}
+     * documents. Changing them copies the one block affected and the block tables.
+     */
+    private static final class Postings {
+
+        private static final int BLOCK = 512;
+
+        final int[] firsts;
+        final int[][] documents;
+        final int[][] frequencies;
+        final int size;
+
+        private Postings(int[] firsts, int[][] documents, int[][] frequencies, int size) {
+            this.firsts = firsts;
+            this.documents = documents;
+            this.frequencies = frequencies;
+            this.size = size;
+        }
+
+        static Postings of(int document, int frequency) {
+            return new Postings(new int[]{document}, new int[][]{{document}}, new int[][]{{frequency}}, 1);
+        }
+
+        static Postings of(int[] documents, int[] frequencies, int size) {
+            int blocks = (size + BLOCK - 1) / BLOCK;
+            int[] firsts = new int[blocks];
+            int[][] blockDocuments = new int[blocks][];
+            int[][] blockFrequencies = new int[blocks][];
+            for (int b = 0; b < blocks; b++) {
+                int from = b * BLOCK;
+                int to = Math.min(size, from + BLOCK);
+                blockDocuments[b] = Arrays.copyOfRange(documents, from, to);
+                blockFrequencies[b] = Arrays.copyOfRange(frequencies, from, to);
+                firsts[b] = documents[from];
+            }
+            return new Postings(firsts, blockDocuments, blockFrequencies, size);
+        }
+
+        Postings with(int document, int frequency) {
+            int b = blockOf(document);
+            int[] blockDocuments = documents[b];
+            int at = Arrays.binarySearch(blockDocuments, document);
+            if (at >= 0) {
+                if (frequencies[b][at] == frequency) {
+                    return this;
+                }
+                int[] blockFrequencies = frequencies[b].clone();
+                blockFrequencies[at] = frequency;
+                int[][] nextFrequencies = frequencies.clone();
+                nextFrequencies[b] = blockFrequencies;
+                return new Postings(firsts, documents, nextFrequencies, size);
+            }
+            int insert = -(at + 1);
+            int[] grownDocuments = inserted(blockDocuments, insert, document);
+            int[] grownFrequencies = inserted(frequencies[b], insert, frequency);
+            if (grownDocuments.length <= 2 * BLOCK) {
+                return replaced(b, 1, size + 1, grownDocuments, grownFrequencies);
+            }
+            int half = grownDocuments.length / 2;
+            return replaced(b, 1, size + 1,
+                    Arrays.copyOf(grownDocuments, half), Arrays.copyOf(grownFrequencies, half),
+                    Arrays.copyOfRange(grownDocuments, half, grownDocuments.length),
+                    Arrays.copyOfRange(grownFrequencies, half, grownFrequencies.length));
+        }
+
+        /**
+         * These postings without {@code document}, or null once none are left.
+         */
+        Postings without(int document) {
+            int b = blockOf(document);
+            int at = Arrays.binarySearch(documents[b], document);
+            if (at < 0) {
+                return this;
+            }
+            if (size == 1) {
+                return null;
+            }
+            int[] shrunkDocuments = removed(documents[b], at);
+            int[] shrunkFrequencies = removed(frequencies[b], at);
+            if (shrunkDocuments.length == 0) {
+                return replaced(b, 1, size - 1);
+            }
+            // Merged into the next block once small, so deletes cannot leave many tiny blocks.
+            if (shrunkDocuments.length < BLOCK / 4 && b + 1 < documents.length
+                    && shrunkDocuments.length + documents[b + 1].length <= BLOCK) {
+                return replaced(b, 2, size - 1,
+                        concat(shrunkDocuments, documents[b + 1]), concat(shrunkFrequencies, frequencies[b + 1]));
+            }
+            return replaced(b, 1, size - 1, shrunkDocuments, shrunkFrequencies);
+        }
+
+        Cursor cursor() {
+            return new Cursor();
+        }
+
+        private int blockOf(int document) {
+            int at = Arrays.binarySearch(firsts, document);
+            return at >= 0 ? at : Math.max(0, -(at + 1) - 1);
+        }
+
+        /**
+         * Replaces {@code count} blocks starting at {@code from} with the given
+         * documents/frequencies pairs of blocks.
+         */
+        private Postings replaced(int from, int count, int newSize, int[]... blocks) {
+            int added = blocks.length / 2;
+            int length = documents.length - count + added;
+            int[] nextFirsts = new int[length];
+            int[][] nextDocuments = new int[length][];
+            int[][] nextFrequencies = new int[length][];
+            System.arraycopy(firsts, 0, nextFirsts, 0, from);
+            System.arraycopy(documents, 0, nextDocuments, 0, from);
+            System.arraycopy(frequencies, 0, nextFrequencies, 0, from);
+            for (int i = 0; i < added; i++) {
+                nextDocuments[from + i] = blocks[2 * i];
+                nextFrequencies[from + i] = blocks[2 * i + 1];
+                nextFirsts[from + i] = blocks[2 * i][0];
+            }
+            int tail = documents.length - from - count;
+            System.arraycopy(firsts, from + count, nextFirsts, from + added, tail);
+            System.arraycopy(documents, from + count, nextDocuments, from + added, tail);
+            System.arraycopy(frequencies, from + count, nextFrequencies, from + added, tail);
+            return new Postings(nextFirsts, nextDocuments, nextFrequencies, newSize);
+        }
+
+        private static int[] inserted(int[] values, int at, int value) {
+            int[] result = new int[values.length + 1];
+            System.arraycopy(values, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            return result;
+        }
+
+        private static int[] removed(int[] values, int at) {
+            int[] result = new int[values.length - 1];
+            System.arraycopy(values, 0, result, 0, at);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+
+        private static int[] concat(int[] first, int[] second) {
+            int[] result = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+
+        /**
+         * Looks up ascending documents, resuming each lookup where the previous one ended.
+         */
+        final class Cursor {
+
+            private int block;
+            private int position;
+
+            /**
+             * The frequency of {@code document}, or 0 if it is absent. Documents must be
+             * asked for in ascending order.
+             */
+            int advanceTo(int document) {
+                if (block + 1 < firsts.length && firsts[block + 1] <= document) {
+                    int at = Arrays.binarySearch(firsts, block + 1, firsts.length, document);
+                    block = at >= 0 ? at : -(at + 1) - 1;
+                    position = 0;
+                }
+                int[] blockDocuments = documents[block];
+                int at = Arrays.binarySearch(blockDocuments, position, blockDocuments.length, document);
+                if (at < 0) {
+                    position = -(at + 1);
+                    return 0;
+                }
+                position = at + 1;
+                return frequencies[block][at];
+            }
+        }
+    }
+}
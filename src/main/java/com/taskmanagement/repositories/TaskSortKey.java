@@ -0,0 +1,51 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Position of a task in the list ordering: due date first, id as tie-breaker.
+ */
+record TaskSortKey(LocalDate dueDate, String id) implements Comparable<TaskSortKey> {
+
+    private static final Comparator<TaskSortKey> ORDER = Comparator
+            .comparing(TaskSortKey::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskSortKey::id);
+
+    static TaskSortKey of(Task task) {
+        return new TaskSortKey(task.getDueDate(), task.getId());
+    }
+
+    static TaskSortKey of(TaskCursor cursor) {
+        return new TaskSortKey(cursor.dueDate(), cursor.id());
+    }
+
+    @Override
+    public int compareTo(TaskSortKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    /**
+     * Compares two tasks in this order without building keys, for hot paths.
+     */
+    static int compare(Task a, Task b) {
+        LocalDate dueA = a.getDueDate();
+        LocalDate dueB = b.getDueDate();
+        if (dueA != dueB) {
+            if (dueA == null) {
+                return 1;
+            }
+            if (dueB == null) {
+                return -1;
+            }
+            int byDate = dueA.compareTo(dueB);
+            if (byDate != 0) {
+                return byDate;
+            }
+        }
+        return a.getId().compareTo(b.getId());
+    }
+}
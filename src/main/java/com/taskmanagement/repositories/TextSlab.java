@@ -0,0 +1,96 @@
+package com.taskmanagement.repositories;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable buffer of UTF-8 text, on or off the Java heap, addressed by offset.
+ * <p>
+ * Text is only ever appended. Replacing a value leaves its old bytes behind as garbage,
+ * which the owner reclaims by copying the live values into a fresh slab.
+ */
+final class TextSlab {
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final boolean offHeap;
+    private ByteBuffer buffer;
+    private int end;
+    private long garbage;
+
+    TextSlab(boolean offHeap, int capacity) {
+        this.offHeap = offHeap;
+        this.buffer = allocate(Math.max(64, capacity));
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    int append(byte[] bytes) {
+        ensure(bytes.length);
+        int offset = end;
+        buffer.put(offset, bytes);
+        end += bytes.length;
+        return offset;
+    }
+
+    int append(TextSlab source, int offset, int length) {
+        ensure(length);
+        int copied = end;
+        buffer.put(copied, source.buffer, offset, length);
+        end += length;
+        return copied;
+    }
+
+    String read(int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    boolean matches(int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void release(int length) {
+        garbage += length;
+    }
+
+    int size() {
+        return end;
+    }
+
+    long garbage() {
+        return garbage;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    private void ensure(int length) {
+        if ((long) end + length <= buffer.capacity()) {
+            return;
+        }
+        if ((long) end + length > MAX_CAPACITY) {
+            throw new IllegalStateException("Task text exceeds the slab's 2 GiB limit");
+        }
+        int capacity = (int) Math.min(MAX_CAPACITY, Math.max((long) end + length, buffer.capacity() * 2L));
+        ByteBuffer grown = allocate(capacity);
+        grown.put(0, buffer, 0, end);
+        buffer = grown;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+}
@@ -0,0 +1,394 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.metrics.LatencyHistogram;
+import com.taskmanagement.metrics.MetricsSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Serves reads and acknowledges writes from an in-memory store, and copies writes to a
+ * durable store in the background.
+ * <p>
+ * A write marks its task id dirty; a background thread takes dirty ids in batches, reads
+ * each task's current state from memory and upserts or deletes it in the durable store.
+ * Repeated writes to a task before it is flushed therefore cost one durable write. Ids are
+ * marked before the write, which waits up to {@code maxWait} while {@code capacity} ids are
+ * already pending and then fails, and again after it, so a flush that read the task in
+ * between is followed by another. Batches are flushed once {@code batchSize} ids are
+ * pending or {@code flushInterval} has passed. A failed batch is retried at the next
+ * interval; {@link #close()} flushes everything still pending.
+ * <p>
+ * The memory store is loaded from the durable one on construction and must not be written
+ * to directly. Versions are the memory store's, so they change across a restart.
+ */
+public class WriteBehindTaskRepository implements TaskRepository, MetricsSource, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindTaskRepository.class);
+    private static final int LOAD_BATCH = 1024;
+
+    private final TaskRepository memory;
+    private final TaskRepository durable;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushDue = lock.newCondition();
+    private final LinkedHashSet<String> dirty = new LinkedHashSet<>();
+    private boolean closed;
+
+    // Held for a whole batch, so a task is never written by two flushes at once.
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Thread flusher;
+
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final LongAdder flushedTasks = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    public WriteBehindTaskRepository(TaskRepository memory, TaskRepository durable, int capacity, int batchSize,
+                                     Duration flushInterval, Duration maxWait) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("capacity and batchSize must be positive");
+        }
+        this.memory = memory;
+        this.durable = durable;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+
+        try (Stream<Task> tasks = durable.stream(null, null, null)) {
+            List<Task> batch = new ArrayList<>(LOAD_BATCH);
+            for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                batch.add(iterator.next());
+                if (batch.size() == LOAD_BATCH || !iterator.hasNext()) {
+                    memory.saveAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        this.flusher = Thread.ofPlatform().name("task-write-behind").daemon().start(this::run);
+    }
+
+    @Override
+    public Task save(Task task) {
+        List<String> ids = List.of(task.getId());
+        reserve(ids);
+        Task saved = memory.save(task);
+        markDirty(ids);
+        return saved;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<String> ids = tasks.stream().map(Task::getId).toList();
+        reserve(ids);
+        List<Task> saved = memory.saveAll(tasks);
+        markDirty(ids);
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> replace(long expectedVersion, Task next) {
+        List<String> ids = List.of(next.getId());
+        reserve(ids);
+        Optional<Task> replaced = memory.replace(expectedVersion, next);
+        markDirty(ids);
+        return replaced;
+    }
+
+    @Override
+    public List<Optional<Task>> replaceAll(List<TaskReplacement> replacements) {
+        List<String> ids = replacements.stream().map(replacement -> replacement.next().getId()).toList();
+        reserve(ids);
+        List<Optional<Task>> replaced = memory.replaceAll(replacements);
+        markDirty(ids);
+        return replaced;
+    }
+
+    @Override
+    public OptionalLong deleteById(String id) {
+        List<String> ids = List.of(id);
+        reserve(ids);
+        OptionalLong deleted = memory.deleteById(id);
+        markDirty(ids);
+        return deleted;
+    }
+
+    @Override
+    public List<OptionalLong> deleteAllById(Collection<String> ids) {
+        reserve(ids);
+        List<OptionalLong> deleted = memory.deleteAllById(ids);
+        markDirty(ids);
+        return deleted;
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return memory.findById(id);
+    }
+
+    @Override
+    public List<Task> findAll(TaskFilter filter, int page, int size) {
+        return memory.findAll(filter, page, size);
+    }
+
+    @Override
+    public List<Task> findAllAfter(TaskFilter filter, TaskCursor after, int size) {
+        return memory.findAllAfter(filter, after, size);
+    }
+
+    @Override
+    public Stream<Task> stream(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        return memory.stream(status, dueAfter, dueBefore);
+    }
+
+    @Override
+    public List<Task> search(String query, TaskStatus status, int limit) {
+        return memory.search(query, status, limit);
+    }
+
+    @Override
+    public long countByStatus(TaskStatus status) {
+        return memory.countByStatus(status);
+    }
+
+    @Override
+    public long count(TaskFilter filter) {
+        return memory.count(filter);
+    }
+
+    @Override
+    public long[] countOpenByDueDate(LocalDate from, int days) {
+        return memory.countOpenByDueDate(from, days);
+    }
+
+    @Override
+    public long modificationCount() {
+        return memory.modificationCount();
+    }
+
+    /**
+     * Number of task ids written but not yet flushed.
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return dirty.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes everything pending on the calling thread. A batch that fails is left pending
+     * and its exception thrown.
+     */
+    public void flush() {
+        boolean flushed;
+        do {
+            flushed = flushBatch();
+        } while (flushed);
+    }
+
+    /* ---------- Queue ---------- */
+
+    // Backpressure: waits for room before the write is applied, so a rejected write has no effect.
+    // A bulk write larger than the capacity goes through once nothing else is pending.
+    private void reserve(Collection<String> ids) {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (!closed && !dirty.isEmpty() && dirty.size() + newIds(ids) > capacity) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Write-behind queue is full: " + dirty.size() + " tasks pending");
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (closed) {
+                throw new IllegalStateException("Task store is closed");
+            }
+            addAll(ids);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the write-behind queue", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ids already pending are coalesced and take no room.
+    private int newIds(Collection<String> ids) {
+        int count = 0;
+        for (String id : ids) {
+            if (!dirty.contains(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void markDirty(Collection<String> ids) {
+        lock.lock();
+        try {
+            addAll(ids);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addAll(Collection<String> ids) {
+        dirty.addAll(ids);
+        if (dirty.size() >= batchSize) {
+            flushDue.signal();
+        }
+    }
+
+    /* ---------- Flushing ---------- */
+
+    private void run() {
+        while (true) {
+            lock.lock();
+            try {
+                long remaining = flushIntervalNanos;
+                while (!closed && dirty.size() < batchSize && remaining > 0) {
+                    remaining = flushDue.awaitNanos(remaining);
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean stopping = isClosed();
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                if (stopping) {
+                    log.error("Write-behind flush failed while closing; {} task writes were not persisted", pending(), ex);
+                    return;
+                }
+                // Left pending; retried after the next interval.
+                log.error("Write-behind flush failed; {} task writes pending", pending(), ex);
+            }
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    private boolean flushBatch() {
+        flushLock.lock();
+        try {
+            List<String> ids = take();
+            if (ids.isEmpty()) {
+                return false;
+            }
+            long start = System.nanoTime();
+            try {
+                List<Task> puts = new ArrayList<>(ids.size());
+                List<String> deletes = new ArrayList<>();
+                for (String id : ids) {
+                    memory.findById(id).ifPresentOrElse(puts::add, () -> deletes.add(id));
+                }
+                if (!puts.isEmpty()) {
+                    durable.saveAll(puts);
+                }
+                if (!deletes.isEmpty()) {
+                    durable.deleteAllById(deletes);
+                }
+            } catch (RuntimeException ex) {
+                flushFailures.increment();
+                markDirty(ids);
+                throw ex;
+            }
+            flushLatency.recordSince(start);
+            flushedTasks.add(ids.size());
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<String> take() {
+        lock.lock();
+        try {
+            List<String> ids = new ArrayList<>(Math.min(batchSize, dirty.size()));
+            Iterator<String> iterator = dirty.iterator();
+            while (ids.size() < batchSize && iterator.hasNext()) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+            notFull.signalAll();
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting writes, flushes everything pending and stops the background thread.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            flushDue.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# HELP task_write_behind_queue_depth Written tasks not yet flushed to the durable store.\n");
+        out.append("# TYPE task_write_behind_queue_depth gauge\n");
+        out.append("task_write_behind_queue_depth ").append(pending()).append('\n');
+        out.append("# HELP task_write_behind_flush_duration_seconds Time to write one batch to the durable store.\n");
+        out.append("# TYPE task_write_behind_flush_duration_seconds histogram\n");
+        flushLatency.writeTo(out, "task_write_behind_flush_duration_seconds", "");
+        out.append("# HELP task_write_behind_flushed_total Task writes flushed to the durable store.\n");
+        out.append("# TYPE task_write_behind_flushed_total counter\n");
+        out.append("task_write_behind_flushed_total ").append(flushedTasks.sum()).append('\n');
+        out.append("# HELP task_write_behind_flush_failures_total Batches that failed and were left pending.\n");
+        out.append("# TYPE task_write_behind_flush_failures_total counter\n");
+        out.append("task_write_behind_flush_failures_total ").append(flushFailures.sum()).append('\n');
+    }
+}
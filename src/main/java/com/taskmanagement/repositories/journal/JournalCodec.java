@@ -0,0 +1,135 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of a journal record:
+ * {@code [int bodyLength][int crc32(body)][body]}, where the body is
+ * {@code [byte type][string id][long version]} followed, for puts, by
+ * {@code [string title][string description][byte status][long dueEpochDay]}.
+ * Strings are length-prefixed UTF-8 with {@code -1} for null.
+ */
+final class JournalCodec {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final int HEADER_BYTES = 8;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final long NO_DUE_DATE = Long.MIN_VALUE;
+
+    private JournalCodec() {
+    }
+
+    static int maxEncodedSize(Task task) {
+        return HEADER_BYTES + 1 + 8 + 1 + 8
+                + maxStringSize(task.getId()) + maxStringSize(task.getTitle()) + maxStringSize(task.getDescription());
+    }
+
+    static int maxEncodedSize(String id) {
+        return HEADER_BYTES + 1 + 8 + maxStringSize(id);
+    }
+
+    static void encodePut(ByteBuffer buffer, Task task) {
+        int start = beginRecord(buffer, PUT, task.getId(), task.getVersion());
+        putString(buffer, task.getTitle());
+        putString(buffer, task.getDescription());
+        buffer.put((byte) task.getStatus().ordinal());
+        buffer.putLong(task.getDueDate() == null ? NO_DUE_DATE : task.getDueDate().toEpochDay());
+        endRecord(buffer, start);
+    }
+
+    static void encodeDelete(ByteBuffer buffer, String id, long version) {
+        int start = beginRecord(buffer, DELETE, id, version);
+        endRecord(buffer, start);
+    }
+
+    /**
+     * Reads the record at the buffer's position. Returns {@code false} and leaves the
+     * position untouched when the remaining bytes are a torn or corrupt record.
+     */
+    static boolean decode(ByteBuffer buffer, JournalReplayHandler handler) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return false;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+            return false;
+        }
+
+        ByteBuffer body = buffer.slice(start + HEADER_BYTES, length);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        byte type = body.get();
+        String id = getString(body);
+        long version = body.getLong();
+        if (type == PUT) {
+            String title = getString(body);
+            String description = getString(body);
+            TaskStatus status = STATUSES[body.get()];
+            long epochDay = body.getLong();
+            LocalDate dueDate = epochDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(epochDay);
+            handler.put(new Task(id, title, description, status, dueDate, version));
+        } else if (type == DELETE) {
+            handler.delete(id, version);
+        } else {
+            return false;
+        }
+        buffer.position(start + HEADER_BYTES + length);
+        return true;
+    }
+
+    private static int beginRecord(ByteBuffer buffer, byte type, String id, long version) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(type);
+        putString(buffer, id);
+        buffer.putLong(version);
+        return start;
+    }
+
+    private static void endRecord(ByteBuffer buffer, int start) {
+        int end = buffer.position();
+        int length = end - start - HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private static int maxStringSize(String value) {
+        return 4 + (value == null ? 0 : value.length() * 3);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,10 @@
+package com.taskmanagement.repositories.journal;
+
+public enum JournalDurability {
+    /** Every write is fsynced before it is acknowledged; concurrent writes share one fsync. */
+    SYNC,
+    /** Writes are acknowledged once queued and fsynced together every flush interval. */
+    BATCHED,
+    /** Writes are handed to the OS page cache and never explicitly fsynced. */
+    BUFFERED
+}
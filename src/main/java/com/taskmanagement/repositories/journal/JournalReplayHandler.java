@@ -0,0 +1,10 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+
+public interface JournalReplayHandler {
+
+    void put(Task task);
+
+    void delete(String id, long version);
+}
@@ -0,0 +1,331 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Segmented append-only log of task writes.
+ * <p>
+ * Callers append records in the order they were applied; a single writer
+ * thread drains them in batches, so one fsync covers every record queued while the
+ * previous one was in flight (group commit). Each start of the journal opens a new
+ * segment, so segments written before a crash are only ever read, never appended to.
+ */
+public class TaskJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int MAX_BATCH = 1024;
+    private static final CompletableFuture<Long> ACKNOWLEDGED = CompletableFuture.completedFuture(null);
+    private static final Pending SHUTDOWN = new Pending(Kind.SHUTDOWN, null, null, 0, null);
+
+    private final Path directory;
+    private final JournalDurability durability;
+    private final long flushIntervalNanos;
+    private final long segmentSize;
+
+    private final List<Path> existingSegments;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+
+    private long nextSegment;
+    private FileChannel channel;
+    private long channelSize;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    public TaskJournal(Path directory, JournalDurability durability, Duration flushInterval,
+                       long segmentSize, int queueCapacity) {
+        this.directory = directory;
+        this.durability = durability;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.segmentSize = segmentSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        try {
+            Files.createDirectories(directory);
+            this.existingSegments = listSegments();
+            this.nextSegment = existingSegments.isEmpty() ? 1 : segmentNumber(existingSegments.getLast()) + 1;
+            openNextSegment();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open task journal in " + directory, ex);
+        }
+
+        this.writer = new Thread(this::runWriter, "task-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public JournalDurability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Replays the segments numbered {@code fromSegment} and up that existed when the
+     * journal was opened, oldest first. A torn or corrupt record ends the replay of its segment.
+     */
+    public void replay(long fromSegment, JournalReplayHandler handler) {
+        for (Path segment : existingSegments) {
+            if (segmentNumber(segment) < fromSegment) {
+                continue;
+            }
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                while (mapped.hasRemaining()) {
+                    if (!JournalCodec.decode(mapped, handler)) {
+                        log.warn("Ignoring {} unreadable trailing bytes in journal segment {}",
+                                mapped.remaining(), segment);
+                        break;
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot replay journal segment " + segment, ex);
+            }
+        }
+    }
+
+    public CompletableFuture<?> appendPut(Task task) {
+        return append(new Pending(Kind.PUT, task, task.getId(), task.getVersion(), commitFuture()));
+    }
+
+    public CompletableFuture<?> appendDelete(String id, long version) {
+        return append(new Pending(Kind.DELETE, null, id, version, commitFuture()));
+    }
+
+    /**
+     * Closes the active segment and starts a new one. Every record appended before
+     * this call lands in a segment numbered below the returned one.
+     */
+    public long roll() {
+        CompletableFuture<Long> rolled = new CompletableFuture<>();
+        append(new Pending(Kind.ROLL, null, null, 0, rolled));
+        await(rolled);
+        return rolled.join();
+    }
+
+    /**
+     * Deletes the segments numbered below {@code segment}, once a snapshot covers them.
+     */
+    public void deleteSegmentsBefore(long segment) {
+        try {
+            for (Path path : listSegments()) {
+                if (segmentNumber(path) < segment) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete journal segments in " + directory, ex);
+        }
+    }
+
+    private CompletableFuture<Long> commitFuture() {
+        return durability == JournalDurability.SYNC ? new CompletableFuture<>() : null;
+    }
+
+    /**
+     * Blocks until the record behind {@code commit} is as durable as the configured
+     * level promises. Must be called outside any lock held while appending.
+     */
+    public static void await(CompletableFuture<?> commit) {
+        try {
+            commit.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Task journal write failed", io);
+            }
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<Long> append(Pending pending) {
+        if (closed) {
+            throw new IllegalStateException("Task journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Task journal is unavailable", failure);
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending to task journal", ex);
+        }
+        return pending.done() == null ? ACKNOWLEDGED : pending.done();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(SHUTDOWN);
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ---------- Writer thread ---------- */
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        long lastForce = System.nanoTime();
+        boolean unforced = false;
+        boolean running = true;
+
+        while (running) {
+            try {
+                Pending first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+            if (batch.removeIf(pending -> pending == SHUTDOWN)) {
+                // Pick up anything that raced with close() so no caller waits forever.
+                queue.drainTo(batch);
+                batch.removeIf(pending -> pending == SHUTDOWN);
+                running = false;
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    unforced = true;
+                }
+                long now = System.nanoTime();
+                boolean forceDue = switch (durability) {
+                    case SYNC -> true;
+                    case BATCHED -> !running || now - lastForce >= flushIntervalNanos;
+                    case BUFFERED -> !running;
+                };
+                if (unforced && forceDue) {
+                    channel.force(false);
+                    lastForce = now;
+                    unforced = false;
+                }
+                batch.forEach(Pending::complete);
+            } catch (IOException ex) {
+                log.error("Task journal write failed", ex);
+                failure = ex;
+                batch.forEach(pending -> pending.fail(ex));
+            }
+            batch.clear();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close task journal segment", ex);
+        }
+    }
+
+    private void write(List<Pending> batch) throws IOException {
+        buffer.clear();
+        for (Pending pending : batch) {
+            if (pending.kind() == Kind.ROLL) {
+                flushBuffer();
+                rollSegment();
+                pending.done().complete(nextSegment - 1);
+                continue;
+            }
+            int needed = pending.kind() == Kind.PUT
+                    ? JournalCodec.maxEncodedSize(pending.task())
+                    : JournalCodec.maxEncodedSize(pending.id());
+            if (buffer.remaining() < needed) {
+                flushBuffer();
+                if (buffer.capacity() < needed) {
+                    buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(needed) << 1);
+                }
+            }
+            if (pending.kind() == Kind.PUT) {
+                JournalCodec.encodePut(buffer, pending.task());
+            } else {
+                JournalCodec.encodeDelete(buffer, pending.id(), pending.version());
+            }
+        }
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channelSize += channel.write(buffer);
+        }
+        buffer.clear();
+        if (channelSize >= segmentSize) {
+            rollSegment();
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        channel.force(false);
+        channel.close();
+        openNextSegment();
+    }
+
+    /* ---------- Segments ---------- */
+
+    private void openNextSegment() throws IOException {
+        Path segment = directory.resolve(String.format("%020d%s", nextSegment++, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        channelSize = 0;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private enum Kind { PUT, DELETE, ROLL, SHUTDOWN }
+
+    private record Pending(Kind kind, Task task, String id, long version, CompletableFuture<Long> done) {
+
+        void complete() {
+            if (done != null) {
+                done.complete(null);
+            }
+        }
+
+        void fail(IOException ex) {
+            if (done != null) {
+                done.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time binary image of the task store.
+ * <p>
+ * Layout: task records grouped in chunks, then a string dictionary, then a footer.
+ * A task record is {@code [int idLength][id][long version][int titleRef][int descriptionRef]
+ * [byte status][int dueEpochDay]}, where the refs index the dictionary ({@code -1} for null).
+ * The footer lists every chunk's offset, task count and CRC32 so that chunks can be
+ * memory-mapped and decoded independently on restore.
+ */
+public class TaskSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSnapshotStore.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAGIC = 0x54534E50; // "TSNP"
+    private static final int CHUNK_TASKS = 1 << 16;
+    private static final int NO_REF = -1;
+    private static final int NO_DUE_DATE = Integer.MIN_VALUE;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final Path directory;
+
+    public TaskSnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open snapshot directory " + directory, ex);
+        }
+    }
+
+    /**
+     * Where a snapshot sits relative to the journal: it reflects every write in
+     * segments before {@code journalSegment}, and versions up to {@code generation}.
+     */
+    public record SnapshotInfo(long journalSegment, long generation, long taskCount) {
+    }
+
+    /**
+     * Writes a new snapshot and removes older ones. {@code tasks} may be a weakly
+     * consistent view that keeps changing while it is written.
+     */
+    public SnapshotInfo write(long journalSegment, long generation, Iterable<Task> tasks) {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        long taskCount;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SnapshotWriter writer = new SnapshotWriter(channel);
+            for (Task task : tasks) {
+                writer.writeTask(task);
+            }
+            taskCount = writer.finish(journalSegment, generation);
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, ex);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path older : listSnapshots()) {
+                if (!older.equals(target)) {
+                    Files.delete(older);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot publish snapshot " + target, ex);
+        }
+        return new SnapshotInfo(journalSegment, generation, taskCount);
+    }
+
+    /**
+     * Loads the newest snapshot, decoding its chunks in parallel. {@code sink} is
+     * called concurrently from several threads.
+     */
+    public Optional<SnapshotInfo> restoreLatest(Consumer<Task> sink) {
+        List<Path> snapshots;
+        try {
+            snapshots = listSnapshots();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, ex);
+        }
+        if (snapshots.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path latest = snapshots.getLast();
+        try (FileChannel channel = FileChannel.open(latest, StandardOpenOption.READ)) {
+            SnapshotInfo info = restore(channel, sink);
+            log.info("Restored {} tasks from snapshot {}", info.taskCount(), latest);
+            return Optional.of(info);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read snapshot " + latest, ex);
+        }
+    }
+
+    private SnapshotInfo restore(FileChannel channel, Consumer<Task> sink) throws IOException {
+        long size = channel.size();
+        if (size < 8) {
+            throw corrupt();
+        }
+        ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - 8, 8);
+        int footerLength = trailer.getInt();
+        if (trailer.getInt() != MAGIC || footerLength <= 0 || footerLength > size - 8) {
+            throw corrupt();
+        }
+
+        long footerOffset = size - 8 - footerLength;
+        ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, footerLength);
+        long journalSegment = footer.getLong();
+        long generation = footer.getLong();
+        long taskCount = footer.getLong();
+        long dictionaryOffset = footer.getLong();
+        int dictionaryCrc = footer.getInt();
+        int chunkCount = footer.getInt();
+        long[] chunkOffsets = new long[chunkCount + 1];
+        int[] chunkTasks = new int[chunkCount];
+        int[] chunkCrcs = new int[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunkOffsets[i] = footer.getLong();
+            chunkTasks[i] = footer.getInt();
+            chunkCrcs[i] = footer.getInt();
+        }
+        chunkOffsets[chunkCount] = dictionaryOffset;
+
+        MappedByteBuffer dictionaryRegion = channel.map(FileChannel.MapMode.READ_ONLY,
+                dictionaryOffset, footerOffset - dictionaryOffset);
+        if (crc(dictionaryRegion) != dictionaryCrc) {
+            throw corrupt();
+        }
+        String[] dictionary = new String[dictionaryRegion.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(dictionaryRegion);
+        }
+
+        IntStream.range(0, chunkCount).parallel().forEach(i -> {
+            try {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                        chunkOffsets[i], chunkOffsets[i + 1] - chunkOffsets[i]);
+                if (crc(chunk) != chunkCrcs[i]) {
+                    throw corrupt();
+                }
+                for (int t = 0; t < chunkTasks[i]; t++) {
+                    sink.accept(readTask(chunk, dictionary));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return new SnapshotInfo(journalSegment, generation, taskCount);
+    }
+
+    private static Task readTask(ByteBuffer buffer, String[] dictionary) {
+        String id = readString(buffer);
+        long version = buffer.getLong();
+        int titleRef = buffer.getInt();
+        int descriptionRef = buffer.getInt();
+        TaskStatus status = STATUSES[buffer.get()];
+        int epochDay = buffer.getInt();
+        return new Task(
+                id,
+                titleRef == NO_REF ? null : dictionary[titleRef],
+                descriptionRef == NO_REF ? null : dictionary[descriptionRef],
+                status,
+                epochDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                version
+        );
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer region) {
+        CRC32 crc = new CRC32();
+        crc.update(region.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static IllegalStateException corrupt() {
+        return new IllegalStateException("Task snapshot is corrupt");
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /* ---------- Writing ---------- */
+
+    private static final class SnapshotWriter {
+
+        private final FileChannel channel;
+        private final Map<String, Integer> dictionaryRefs = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final List<long[]> chunks = new ArrayList<>();
+        private final CRC32 crc = new CRC32();
+
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private long position;
+        private long chunkStart;
+        private int chunkTasks;
+        private long taskCount;
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeTask(Task task) throws IOException {
+            byte[] id = task.getId().getBytes(StandardCharsets.UTF_8);
+            int titleRef = ref(task.getTitle());
+            int descriptionRef = ref(task.getDescription());
+
+            ensure(4 + id.length + 8 + 4 + 4 + 1 + 4);
+            buffer.putInt(id.length).put(id);
+            buffer.putLong(task.getVersion());
+            buffer.putInt(titleRef);
+            buffer.putInt(descriptionRef);
+            buffer.put((byte) task.getStatus().ordinal());
+            buffer.putInt(task.getDueDate() == null ? NO_DUE_DATE : Math.toIntExact(task.getDueDate().toEpochDay()));
+
+            taskCount++;
+            if (++chunkTasks == CHUNK_TASKS) {
+                endChunk();
+            }
+        }
+
+        long finish(long journalSegment, long generation) throws IOException {
+            if (chunkTasks > 0) {
+                endChunk();
+            }
+
+            long dictionaryOffset = position;
+            ensure(4);
+            buffer.putInt(dictionary.size());
+            for (String value : dictionary) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                ensure(4 + bytes.length);
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            flush();
+            int dictionaryCrc = (int) crc.getValue();
+
+            int footerLength = 8 + 8 + 8 + 8 + 4 + 4 + chunks.size() * 16;
+            ensure(footerLength + 8);
+            buffer.putLong(journalSegment);
+            buffer.putLong(generation);
+            buffer.putLong(taskCount);
+            buffer.putLong(dictionaryOffset);
+            buffer.putInt(dictionaryCrc);
+            buffer.putInt(chunks.size());
+            for (long[] chunk : chunks) {
+                buffer.putLong(chunk[0]);
+                buffer.putInt((int) chunk[1]);
+                buffer.putInt((int) chunk[2]);
+            }
+            buffer.putInt(footerLength);
+            buffer.putInt(MAGIC);
+            flush();
+            return taskCount;
+        }
+
+        private int ref(String value) {
+            if (value == null) {
+                return NO_REF;
+            }
+            return dictionaryRefs.computeIfAbsent(value, v -> {
+                dictionary.add(v);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private void endChunk() throws IOException {
+            flush();
+            chunks.add(new long[]{chunkStart, chunkTasks, crc.getValue()});
+            crc.reset();
+            chunkStart = position;
+            chunkTasks = 0;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+                if (buffer.capacity() < bytes) {
+                    buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
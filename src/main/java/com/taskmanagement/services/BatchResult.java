@@ -0,0 +1,22 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+
+/**
+ * Outcome of one item of a bulk operation: the resulting task (null for deletes),
+ * or the error that rejected the item.
+ */
+public record BatchResult(String id, Task task, RuntimeException error) {
+
+    public static BatchResult success(String id, Task task) {
+        return new BatchResult(id, task, null);
+    }
+
+    public static BatchResult failure(String id, RuntimeException error) {
+        return new BatchResult(id, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
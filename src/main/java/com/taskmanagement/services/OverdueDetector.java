@@ -0,0 +1,222 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.exceptions.TaskVersionConflictException;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Announces tasks on the change feed the moment their due date passes, and optionally
+ * moves them to a configured status.
+ * <p>
+ * Open tasks that are not yet due sit in a {@link TimingWheel} keyed by due date. The
+ * wheel is kept current from the change feed, which every create, update and delete
+ * publishes to, so writers pay nothing extra. Each poll applies the new changes and then
+ * advances the wheel to today, which only touches the tasks that just became overdue; each
+ * is re-read from the store before it is announced, in case it changed since. If the feed
+ * overran the detector, the wheel is rebuilt from the store. Tasks that passed their due
+ * date while the application was down are counted as overdue but never announced.
+ */
+public class OverdueDetector implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueDetector.class);
+    private static final int MAX_BATCH = 4096;
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+
+    private final TaskRepository repository;
+    private final TaskService service;
+    private final TaskChangeFeed feed;
+    private final TaskMetrics metrics;
+    private final TaskStatus transitionTo;
+    private volatile ScheduledExecutorService executor;
+
+    private TimingWheel wheel;
+    private long position;
+
+    /**
+     * @param transitionTo status overdue tasks are moved to, or null to only announce them
+     */
+    public OverdueDetector(TaskRepository repository, TaskService service, TaskChangeFeed feed, TaskMetrics metrics,
+                           TaskStatus transitionTo) {
+        this.repository = repository;
+        this.service = service;
+        this.feed = feed;
+        this.metrics = metrics;
+        this.transitionTo = transitionTo;
+    }
+
+    /**
+     * Polls on a background thread at a fixed delay, which bounds how late past midnight a
+     * task is announced.
+     */
+    public synchronized void start(Duration interval) {
+        if (executor != null) {
+            throw new IllegalStateException("Already started");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-overdue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public int poll() {
+        return poll(LocalDate.now());
+    }
+
+    /**
+     * Applies pending changes, then announces tasks due before {@code today}. Returns how
+     * many were announced.
+     */
+    synchronized int poll(LocalDate today) {
+        if (wheel == null) {
+            rebuild(today.toEpochDay());
+        }
+        List<TaskChange> changes;
+        do {
+            changes = feed.readAfter(position, MAX_BATCH);
+            if (changes == null) {
+                log.warn("Change feed overran the overdue detector; rebuilding from the store");
+                // Resume from the last day checked, so tasks that fell due meanwhile are still announced.
+                rebuild(wheel.currentDay());
+                break;
+            }
+            for (TaskChange change : changes) {
+                apply(change);
+                position = change.sequence();
+            }
+        } while (changes.size() == MAX_BATCH);
+
+        int announced = 0;
+        for (String id : wheel.advanceTo(today.toEpochDay())) {
+            Optional<Task> task = repository.findById(id);
+            if (task.isEmpty() || !isOpen(task.get())) {
+                continue;
+            }
+            if (task.get().getDueDate().isBefore(today)) {
+                announce(task.get(), today);
+                announced++;
+            } else {
+                // The wheel held an older due date than the store; the change is still on its way.
+                wheel.schedule(id, task.get().getDueDate().toEpochDay(), task.get().getVersion());
+            }
+        }
+        return announced;
+    }
+
+    int scheduled() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    private void apply(TaskChange change) {
+        switch (change.type()) {
+            case CREATED, UPDATED -> {
+                Task task = change.task();
+                if (isOpen(task)) {
+                    wheel.schedule(task.getId(), task.getDueDate().toEpochDay(), task.getVersion());
+                } else {
+                    wheel.cancel(task.getId(), task.getVersion());
+                }
+            }
+            case DELETED -> wheel.cancel(change.id(), change.version());
+            case OVERDUE -> {
+            }
+        }
+    }
+
+    private void rebuild(long fromDay) {
+        // Read the position first: changes racing with the scan are then applied again, harmlessly.
+        position = feed.lastSequence();
+        if (wheel == null) {
+            wheel = new TimingWheel(fromDay);
+        } else {
+            wheel.clear(fromDay);
+        }
+        LocalDate dueAfter = LocalDate.ofEpochDay(fromDay - 1);
+        for (TaskStatus status : TaskStatus.values()) {
+            if (status == TaskStatus.DONE) {
+                continue;
+            }
+            try (Stream<Task> open = repository.stream(status, dueAfter, null)) {
+                open.forEach(task -> wheel.schedule(task.getId(), task.getDueDate().toEpochDay(), task.getVersion()));
+            }
+        }
+    }
+
+    private void announce(Task task, LocalDate today) {
+        feed.overdue(task);
+        boolean transitioned = false;
+        if (transitionTo != null) {
+            transitioned = transition(task, today);
+        }
+        metrics.recordOverdue(transitioned);
+    }
+
+    private boolean transition(Task task, LocalDate today) {
+        Task patch = new Task(null, null, null, transitionTo, null);
+        for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+            if (task.getStatus() == transitionTo) {
+                return false;
+            }
+            try {
+                service.update(task.getId(), patch, task.getVersion());
+                return true;
+            } catch (TaskNotFoundException ex) {
+                return false;
+            } catch (TaskVersionConflictException ex) {
+                Optional<Task> current = repository.findById(task.getId());
+                if (current.isEmpty() || !isOpen(current.get()) || !current.get().getDueDate().isBefore(today)) {
+                    return false;
+                }
+                task = current.get();
+            }
+        }
+        log.warn("Gave up moving overdue task {} to {} after repeated conflicts", task.getId(), transitionTo);
+        return false;
+    }
+
+    private static boolean isOpen(Task task) {
+        return task.getStatus() != TaskStatus.DONE && task.getDueDate() != null;
+    }
+
+    private void pollSafely() {
+        try {
+            int announced = poll();
+            if (announced > 0) {
+                log.info("Announced {} overdue tasks", announced);
+            }
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive; the next poll picks up where this one stopped.
+            log.error("Overdue detection failed", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
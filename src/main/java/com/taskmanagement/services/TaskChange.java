@@ -0,0 +1,16 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+
+/**
+ * One entry of the change feed. {@code task} is the stored snapshot, or null for deletes;
+ * {@code version} lets consumers drop a change that reaches them after a newer one for
+ * the same task. {@code OVERDUE} announces that a stored task passed its due date and
+ * changes nothing.
+ */
+public record TaskChange(long sequence, Type type, String id, long version, Task task) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, OVERDUE
+    }
+}
@@ -0,0 +1,104 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free log of task mutations, numbered by a global sequence.
+ * <p>
+ * A writer claims the next sequence number and stores its change in the slot that number
+ * maps to, overwriting whatever the ring held {@code capacity} changes earlier; it never
+ * waits for readers. Readers check each slot's sequence, so a reader that fell more than
+ * a ring behind learns it must resynchronize instead of reading overwritten changes.
+ * Sequence numbers are seeded from the clock so that ids from before a restart are
+ * recognized as too old rather than mistaken for new ones.
+ */
+public class TaskChangeFeed {
+
+    private final AtomicReferenceArray<TaskChange> ring;
+    private final int mask;
+    private final long start;
+    private final AtomicLong sequence;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public TaskChangeFeed(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a positive power of two");
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.start = System.currentTimeMillis() << 20;
+        this.sequence = new AtomicLong(start);
+    }
+
+    public void created(Task task) {
+        publish(TaskChange.Type.CREATED, task.getId(), task.getVersion(), task);
+    }
+
+    public void updated(Task task) {
+        publish(TaskChange.Type.UPDATED, task.getId(), task.getVersion(), task);
+    }
+
+    /**
+     * @param version the version the deletion was recorded at, as returned by the repository
+     */
+    public void deleted(String id, long version) {
+        publish(TaskChange.Type.DELETED, id, version, null);
+    }
+
+    public void overdue(Task task) {
+        publish(TaskChange.Type.OVERDUE, task.getId(), task.getVersion(), task);
+    }
+
+    private void publish(TaskChange.Type type, String id, long version, Task task) {
+        long next = sequence.incrementAndGet();
+        ring.set((int) (next & mask), new TaskChange(next, type, id, version, task));
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Runs {@code listener} on the writer's thread after every change; it must not block.
+     */
+    public void onChange(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sequence number of the latest claimed change. Reading from it onwards yields only
+     * changes made after this call.
+     */
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Up to {@code max} changes following sequence {@code after}, in order, stopping early at a
+     * change that is claimed but not yet stored. Returns null when changes after {@code after}
+     * are no longer in the ring, or {@code after} was not issued by this feed.
+     */
+    public List<TaskChange> readAfter(long after, int max) {
+        long last = sequence.get();
+        if (after < start || after > last || last - after > ring.length()) {
+            return null;
+        }
+        List<TaskChange> changes = new ArrayList<>((int) Math.min(max, last - after));
+        for (long next = after + 1; next <= last && changes.size() < max; next++) {
+            TaskChange change = ring.get((int) (next & mask));
+            if (change == null || change.sequence() < next) {
+                break;
+            }
+            if (change.sequence() > next) {
+                return null;
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+}
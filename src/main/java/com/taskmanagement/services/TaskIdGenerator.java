@@ -0,0 +1,10 @@
+package com.taskmanagement.services;
+
+/**
+ * Source of ids for new tasks. Ids must be unique, and implementations should make them
+ * sort in creation order, since list ordering falls back to the id between equal due dates.
+ */
+public interface TaskIdGenerator {
+
+    String nextId();
+}
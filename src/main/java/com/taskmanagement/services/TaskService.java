@@ -1,19 +1,54 @@
 package com.taskmanagement.services;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskService {
 
     Task getById(String id);
 
-    List<Task> list(TaskStatus status, int page, int size);
+    List<Task> list(TaskFilter filter, int page, int size);
+
+    List<Task> list(TaskFilter filter, TaskCursor after, int size);
+
+    List<Task> search(String query, TaskStatus status, int size);
+
+    /**
+     * Matching tasks across all pages of {@link #list}, without walking them.
+     */
+    long count(TaskFilter filter);
+
+    /**
+     * Counts by status, the overdue count, and open tasks due on each of the next {@code days}
+     * days and in each of the next {@code weeks} weeks, the current week first.
+     */
+    TaskStatistics statistics(int days, int weeks);
+
+    /**
+     * See {@code TaskRepository.modificationCount}: unchanged between two calls means no
+     * task was created, changed or deleted in between.
+     */
+    long modificationCount();
+
+    Stream<Task> export(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore);
 
     Task create(Task task);
 
     Task update(String id, Task updates);
 
+    Task update(String id, Task updates, Long expectedVersion);
+
     void delete(String id);
+
+    List<BatchResult> createAll(List<Task> tasks);
+
+    List<BatchResult> updateAll(List<TaskUpdate> updates);
+
+    List<BatchResult> deleteAll(List<String> ids);
 }
@@ -1,77 +1,337 @@
 package com.taskmanagement.services;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
 import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.exceptions.TaskVersionConflictException;
+import com.taskmanagement.metrics.RequestTiming;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.TaskReplacement;
 import com.taskmanagement.repositories.TaskRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    static final int MAX_STATISTICS_DAYS = 366;
+    static final int MAX_STATISTICS_WEEKS = 104;
+
     private final TaskRepository repository;
+    private final TaskIdGenerator idGenerator;
+    private final TaskMetrics metrics;
+    private final TaskChangeFeed changes;
 
-    public TaskServiceImpl(TaskRepository repository) {
+    public TaskServiceImpl(TaskRepository repository, TaskIdGenerator idGenerator, TaskMetrics metrics,
+                           TaskChangeFeed changes) {
         this.repository = repository;
+        this.idGenerator = idGenerator;
+        this.metrics = metrics;
+        this.changes = changes;
     }
 
     @Override
     public Task create(Task task) {
-        validateDueDate(task.getDueDate());
-
-        Task toSave = new Task(
-                UUID.randomUUID().toString(),
-                task.getTitle(),
-                task.getDescription(),
-                task.getStatus() != null ? task.getStatus() : TaskStatus.PENDING,
-                task.getDueDate()
-        );
-
-        return repository.save(toSave);
+        long start = System.nanoTime();
+        try {
+            Task created = repository.save(prepareCreate(task));
+            changes.created(created);
+            return created;
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.CREATE, start);
+        }
     }
 
     @Override
     public Task getById(String id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(id));
+        long start = System.nanoTime();
+        try {
+            return find(id);
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.GET, start);
+        }
     }
 
     @Override
     public Task update(String id, Task updates) {
-        Task existing = getById(id);
+        return update(id, updates, null);
+    }
+
+    @Override
+    public Task update(String id, Task updates, Long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            // Optimistic loop: rebuild the snapshot from the latest version until the
+            // compare-and-set wins. With an expected version, a lost race shows up as a
+            // conflict on the next pass instead of being retried.
+            while (true) {
+                Task existing = find(id);
+                Task next = prepareUpdate(existing, updates, expectedVersion);
 
-        if (updates.getTitle() != null) {
-            existing.setTitle(updates.getTitle());
+                Optional<Task> replaced = repository.replace(existing.getVersion(), next);
+                if (replaced.isPresent()) {
+                    changes.updated(replaced.get());
+                    return replaced.get();
+                }
+            }
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.UPDATE, start);
         }
-        if (updates.getDescription() != null) {
-            existing.setDescription(updates.getDescription());
+    }
+
+    @Override
+    public void delete(String id) {
+        long start = System.nanoTime();
+        try {
+            long repositoryStart = RequestTiming.start();
+            OptionalLong deleted = repository.deleteById(id);
+            RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+            // The deletion's own version, which is newer than that of any update before it.
+            changes.deleted(id, deleted.orElseThrow(() -> new TaskNotFoundException(id)));
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.DELETE, start);
         }
-        if (updates.getStatus() != null) {
-            existing.setStatus(updates.getStatus());
+    }
+
+    @Override
+    public List<Task> list(TaskFilter filter, int page, int size) {
+        validateDueRange(filter.dueAfter(), filter.dueBefore());
+        long start = System.nanoTime();
+        try {
+            long repositoryStart = RequestTiming.start();
+            List<Task> tasks = repository.findAll(filter, page, size);
+            RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+            // Offset pages walk past every task on the pages before them.
+            long skipped = size <= 0 ? 0 : (long) Math.max(0, page) * size;
+            metrics.recordScan(skipped + tasks.size(), tasks.size());
+            return tasks;
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.LIST, start);
         }
-        if (updates.getDueDate() != null) {
-            validateDueDate(updates.getDueDate());
-            existing.setDueDate(updates.getDueDate());
+    }
+
+    @Override
+    public List<Task> list(TaskFilter filter, TaskCursor after, int size) {
+        validateDueRange(filter.dueAfter(), filter.dueBefore());
+        long start = System.nanoTime();
+        try {
+            // A cursor seeks straight to its position, so nothing is scanned beyond the page.
+            long repositoryStart = RequestTiming.start();
+            List<Task> tasks = repository.findAllAfter(filter, after, size);
+            RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+            metrics.recordScan(tasks.size(), tasks.size());
+            return tasks;
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.LIST, start);
         }
+    }
 
-        return repository.save(existing);
+    @Override
+    public List<Task> search(String query, TaskStatus status, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        long start = System.nanoTime();
+        try {
+            long repositoryStart = RequestTiming.start();
+            List<Task> tasks = repository.search(query, status, size);
+            RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+            return tasks;
+        } finally {
+            metrics.recordLatency(TaskMetrics.Operation.SEARCH, start);
+        }
     }
 
     @Override
-    public void delete(String id) {
-        Task existing = getById(id);
-        repository.deleteById(existing.getId());
+    public long count(TaskFilter filter) {
+        return repository.count(filter);
+    }
+
+    @Override
+    public TaskStatistics statistics(int days, int weeks) {
+        if (days < 0 || days > MAX_STATISTICS_DAYS) {
+            throw new IllegalArgumentException("days must be between 0 and " + MAX_STATISTICS_DAYS);
+        }
+        if (weeks < 0 || weeks > MAX_STATISTICS_WEEKS) {
+            throw new IllegalArgumentException("weeks must be between 0 and " + MAX_STATISTICS_WEEKS);
+        }
+
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = repository.countByStatus(status);
+            byStatus.put(status, count);
+            total += count;
+        }
+        long overdue = repository.count(new TaskFilter(null, null, null, true));
+
+        LocalDate today = LocalDate.now();
+        SortedMap<LocalDate, Long> dueByDay = new TreeMap<>();
+        long[] daily = repository.countOpenByDueDate(today, days);
+        for (int i = 0; i < days; i++) {
+            dueByDay.put(today.plusDays(i), daily[i]);
+        }
+
+        LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        SortedMap<LocalDate, Long> dueByWeek = new TreeMap<>();
+        long[] weekly = repository.countOpenByDueDate(monday, weeks * 7);
+        for (int week = 0; week < weeks; week++) {
+            long sum = 0;
+            for (int day = 0; day < 7; day++) {
+                sum += weekly[week * 7 + day];
+            }
+            dueByWeek.put(monday.plusWeeks(week), sum);
+        }
+        return new TaskStatistics(total, byStatus, overdue, dueByDay, dueByWeek);
+    }
+
+    @Override
+    public long modificationCount() {
+        return repository.modificationCount();
+    }
+
+    @Override
+    public Stream<Task> export(TaskStatus status, LocalDate dueAfter, LocalDate dueBefore) {
+        validateDueRange(dueAfter, dueBefore);
+        return repository.stream(status, dueAfter, dueBefore);
+    }
+
+    /* ---------- Bulk operations ---------- */
+
+    @Override
+    public List<BatchResult> createAll(List<Task> tasks) {
+        BatchResult[] results = new BatchResult[tasks.size()];
+        List<Task> accepted = new ArrayList<>(tasks.size());
+        List<Integer> slots = new ArrayList<>(tasks.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                accepted.add(prepareCreate(tasks.get(i)));
+                slots.add(i);
+            } catch (IllegalArgumentException ex) {
+                results[i] = BatchResult.failure(null, ex);
+            }
+        }
+
+        List<Task> saved = repository.saveAll(accepted);
+        for (int j = 0; j < saved.size(); j++) {
+            results[slots.get(j)] = BatchResult.success(saved.get(j).getId(), saved.get(j));
+            changes.created(saved.get(j));
+        }
+        return List.of(results);
     }
 
     @Override
-    public List<Task> list(TaskStatus status, int page, int size) {
-        return repository.findAll(status, page, size);
+    public List<BatchResult> updateAll(List<TaskUpdate> updates) {
+        BatchResult[] results = new BatchResult[updates.size()];
+        List<TaskReplacement> replacements = new ArrayList<>(updates.size());
+        List<Integer> slots = new ArrayList<>(updates.size());
+
+        for (int i = 0; i < updates.size(); i++) {
+            TaskUpdate update = updates.get(i);
+            try {
+                Task existing = find(update.id());
+                Task next = prepareUpdate(existing, update.changes(), update.expectedVersion());
+                replacements.add(new TaskReplacement(existing.getVersion(), next));
+                slots.add(i);
+            } catch (TaskNotFoundException | TaskVersionConflictException | IllegalArgumentException ex) {
+                results[i] = BatchResult.failure(update.id(), ex);
+            }
+        }
+
+        List<Optional<Task>> replaced = repository.replaceAll(replacements);
+        for (int j = 0; j < replaced.size(); j++) {
+            int slot = slots.get(j);
+            TaskUpdate update = updates.get(slot);
+            if (replaced.get(j).isPresent()) {
+                results[slot] = BatchResult.success(update.id(), replaced.get(j).get());
+                changes.updated(replaced.get(j).get());
+                continue;
+            }
+            // Lost a race (or the same id appears twice in the batch): fall back to the single-item path.
+            try {
+                results[slot] = BatchResult.success(update.id(),
+                        update(update.id(), update.changes(), update.expectedVersion()));
+            } catch (TaskNotFoundException | TaskVersionConflictException | IllegalArgumentException ex) {
+                results[slot] = BatchResult.failure(update.id(), ex);
+            }
+        }
+        return List.of(results);
+    }
+
+    @Override
+    public List<BatchResult> deleteAll(List<String> ids) {
+        // Outcomes come from the deletes themselves, so an id repeated in the batch or
+        // removed concurrently is reported missing rather than deleted twice.
+        List<OptionalLong> deleted = repository.deleteAllById(ids);
+        BatchResult[] results = new BatchResult[ids.size()];
+        for (int i = 0; i < results.length; i++) {
+            String id = ids.get(i);
+            if (deleted.get(i).isPresent()) {
+                results[i] = BatchResult.success(id, null);
+                changes.deleted(id, deleted.get(i).getAsLong());
+            } else {
+                results[i] = BatchResult.failure(id, new TaskNotFoundException(id));
+            }
+        }
+        return List.of(results);
+    }
+
+    private Task prepareCreate(Task task) {
+        validateDueDate(task.getDueDate());
+
+        return new Task(
+                idGenerator.nextId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus() != null ? task.getStatus() : TaskStatus.PENDING,
+                task.getDueDate()
+        );
+    }
+
+    private Task find(String id) {
+        long repositoryStart = RequestTiming.start();
+        Optional<Task> task = repository.findById(id);
+        RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+        return task.orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    private Task prepareUpdate(Task existing, Task updates, Long expectedVersion) {
+        if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+            throw new TaskVersionConflictException(existing.getId(), expectedVersion, existing.getVersion());
+        }
+        if (updates.getDueDate() != null) {
+            validateDueDate(updates.getDueDate());
+        }
+
+        return new Task(
+                existing.getId(),
+                updates.getTitle() != null ? updates.getTitle() : existing.getTitle(),
+                updates.getDescription() != null ? updates.getDescription() : existing.getDescription(),
+                updates.getStatus() != null ? updates.getStatus() : existing.getStatus(),
+                updates.getDueDate() != null ? updates.getDueDate() : existing.getDueDate()
+        );
+    }
+
+    private void validateDueRange(LocalDate dueAfter, LocalDate dueBefore) {
+        if (dueAfter != null && dueBefore != null && !dueAfter.isBefore(dueBefore)) {
+            throw new IllegalArgumentException("dueAfter must be before dueBefore");
+        }
     }
-    
 
     private void validateDueDate(LocalDate dueDate) {
         if (dueDate == null) {
@@ -0,0 +1,18 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Store-wide aggregates. {@code dueByDay} and {@code dueByWeek} count tasks that are not
+ * done, keyed by due date and by the Monday that starts each week.
+ */
+public record TaskStatistics(long total,
+                             Map<TaskStatus, Long> byStatus,
+                             long overdue,
+                             SortedMap<LocalDate, Long> dueByDay,
+                             SortedMap<LocalDate, Long> dueByWeek) {
+}
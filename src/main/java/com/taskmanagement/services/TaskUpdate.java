@@ -0,0 +1,10 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+
+/**
+ * One item of a bulk update: the non-null fields of {@code changes} are applied to task
+ * {@code id}, optionally only if it is still at {@code expectedVersion}.
+ */
+public record TaskUpdate(String id, Task changes, Long expectedVersion) {
+}
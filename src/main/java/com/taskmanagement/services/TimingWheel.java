@@ -0,0 +1,168 @@
+package com.taskmanagement.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Hierarchical timing wheel of task ids keyed by due date, as epoch days.
+ * <p>
+ * Level 0 has one slot per day for the next 64 days, level 1 one slot per 64 days for the
+ * next 4096, level 2 one slot per 4096 days for the next 262144; dates further out wait in
+ * a sorted overflow map. Advancing by a day empties exactly one level-0 slot, and entering
+ * a new block of a coarser level redistributes that level's slot one level down, so each
+ * id moves at most three times before it expires. Work is therefore proportional to the
+ * ids that expire, not to how many are scheduled.
+ * <p>
+ * Entries remember the task version they were scheduled for, so a change that arrives
+ * after a newer one for the same task is ignored. Not thread-safe.
+ */
+final class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+    private static final long HORIZON = 1L << (BITS * LEVELS);
+
+    private final List<Set<String>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final NavigableMap<Long, Set<String>> overflow = new TreeMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long currentDay;
+
+    TimingWheel(long currentDay) {
+        this.currentDay = currentDay;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * The earliest day still scheduled; ids due before it have expired.
+     */
+    long currentDay() {
+        return currentDay;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Schedules {@code id} to expire once the wheel moves past {@code day}, replacing its
+     * earlier schedule unless that came from a newer version. A day that has already passed
+     * only removes the id.
+     */
+    void schedule(String id, long day, long version) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            if (entry.version > version) {
+                return;
+            }
+            unlink(id, entry);
+        }
+        if (day < currentDay) {
+            entries.remove(id);
+            return;
+        }
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(id, entry);
+        }
+        entry.day = day;
+        entry.version = version;
+        place(id, entry);
+    }
+
+    /**
+     * Removes {@code id} unless it was scheduled by a version newer than {@code version}.
+     */
+    void cancel(String id, long version) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.version <= version) {
+            unlink(id, entry);
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Moves the wheel to {@code day} and returns the ids due on any day before it.
+     */
+    List<String> advanceTo(long day) {
+        List<String> expired = new ArrayList<>();
+        while (currentDay < day) {
+            Set<String> slot = slots.get((int) (currentDay & MASK));
+            for (String id : slot) {
+                entries.remove(id);
+                expired.add(id);
+            }
+            slot.clear();
+            currentDay++;
+            cascade();
+        }
+        return expired;
+    }
+
+    void clear(long day) {
+        slots.forEach(Set::clear);
+        overflow.clear();
+        entries.clear();
+        currentDay = day;
+    }
+
+    private void cascade() {
+        if ((currentDay & MASK) != 0) {
+            return;
+        }
+        // Higher levels first: their ids may land in the slot the level below is about to empty.
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentDay & ((1L << (BITS * level)) - 1)) != 0) {
+                continue;
+            }
+            if (level == LEVELS - 1) {
+                NavigableMap<Long, Set<String>> due = overflow.headMap(currentDay + HORIZON, false);
+                for (Iterator<Set<String>> days = due.values().iterator(); days.hasNext(); ) {
+                    days.next().forEach(id -> place(id, entries.get(id)));
+                    days.remove();
+                }
+            }
+            Set<String> slot = slots.get(level * SLOTS + (int) ((currentDay >>> (BITS * level)) & MASK));
+            List<String> moving = new ArrayList<>(slot);
+            slot.clear();
+            moving.forEach(id -> place(id, entries.get(id)));
+        }
+    }
+
+    private void place(String id, Entry entry) {
+        long delta = entry.day - currentDay;
+        if (delta >= HORIZON) {
+            entry.slot = overflow.computeIfAbsent(entry.day, d -> new HashSet<>());
+        } else {
+            int level = 0;
+            while (delta >= 1L << (BITS * (level + 1))) {
+                level++;
+            }
+            entry.slot = slots.get(level * SLOTS + (int) ((entry.day >>> (BITS * level)) & MASK));
+        }
+        entry.slot.add(id);
+    }
+
+    private void unlink(String id, Entry entry) {
+        entry.slot.remove(id);
+        if (entry.slot.isEmpty() && overflow.get(entry.day) == entry.slot) {
+            overflow.remove(entry.day);
+        }
+    }
+
+    private static final class Entry {
+        long day;
+        long version;
+        Set<String> slot;
+    }
+}
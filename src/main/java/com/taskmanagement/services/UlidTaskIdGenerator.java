@@ -0,0 +1,77 @@
+package com.taskmanagement.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates <a href="https://github.com/ulid/spec">ULIDs</a>: 26 Crockford base32
+ * characters holding a 48-bit millisecond timestamp followed by 80 random bits, so ids
+ * compare in creation order as plain strings.
+ * <p>
+ * Each thread keeps its own last timestamp and random value and draws from
+ * {@link ThreadLocalRandom}, so generating an id never touches shared state. Within one
+ * thread ids are strictly increasing: a repeated (or backwards) clock reading increments
+ * the random part of the previous id instead of drawing a new one. Ids from different
+ * threads are ordered by millisecond only.
+ */
+@Component
+public class UlidTaskIdGenerator implements TaskIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final int TIME_LENGTH = 10;
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;
+
+    private final LongSupplier clock;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    public UlidTaskIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    UlidTaskIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        State current = state.get();
+        long now = clock.getAsLong();
+
+        if (now > current.millis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            current.millis = now;
+            current.randomHigh = random.nextLong() & RANDOM_HIGH_MASK;
+            current.randomLow = random.nextLong();
+        } else if (++current.randomLow == 0) {
+            current.randomHigh = (current.randomHigh + 1) & RANDOM_HIGH_MASK;
+            if (current.randomHigh == 0) {
+                // 80 bits exhausted within one millisecond: borrow the next one.
+                current.millis++;
+            }
+        }
+        return encode(current.millis, current.randomHigh, current.randomLow);
+    }
+
+    private static String encode(long millis, long randomHigh, long randomLow) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= TIME_LENGTH; i--) {
+            chars[i] = ALPHABET[(int) (randomLow & 31)];
+            randomLow = (randomLow >>> 5) | (randomHigh << 59);
+            randomHigh >>>= 5;
+        }
+        for (int i = TIME_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (millis & 31)];
+            millis >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static final class State {
+        private long millis = Long.MIN_VALUE;
+        private long randomHigh;
+        private long randomLow;
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanagement.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.repositories.JdbcTaskRepository;
+import com.taskmanagement.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class JdbcStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void tasks_roundTripThroughTheEmbeddedDatabase() throws Exception {
+        assertInstanceOf(JdbcTaskRepository.class, repository);
+        String dueDate = LocalDate.now().plusDays(2).toString();
+
+        MvcResult created = mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Stored in H2\",\"dueDate\":\"" + dueDate + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String id = new ObjectMapper().readTree(created.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get("/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Stored in H2"))
+                .andExpect(jsonPath("$.dueDate").value(dueDate));
+
+        mockMvc.perform(get("/tasks").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + id + "')].title").value("Stored in H2"));
+
+        mockMvc.perform(delete("/tasks/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/tasks/" + id))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"request-timing.enabled=true", "request-timing.slow-threshold=0ms"})
+@AutoConfigureMockMvc
+public class RequestTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.clear();
+        repository.save(new Task("1", "Timed", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+    }
+
+    @Test
+    void list_reportsPhasesInServerTimingHeader() throws Exception {
+        mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Timed"))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, containsString("service;dur=")))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, containsString("repository;dur=")))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, containsString("mapping;dur=")))
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING_HEADER, containsString("total;dur=")));
+    }
+
+    @Test
+    void slowRequests_listsTimedRequests() throws Exception {
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/metrics/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.uri == '/tasks/1')].method").value("GET"));
+    }
+}
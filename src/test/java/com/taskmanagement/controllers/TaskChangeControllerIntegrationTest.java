@@ -0,0 +1,84 @@
+package com.taskmanagement.controllers;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.services.TaskChangeFeed;
+import com.taskmanagement.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "change-feed.capacity=4")
+@AutoConfigureMockMvc
+public class TaskChangeControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeFeed feed;
+
+    @Test
+    void changes_resumeAfterLastEventId() throws Exception {
+        long before = feed.lastSequence();
+        Task created = taskService.create(new Task(null, "Streamed", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        taskService.delete(created.getId());
+
+        MvcResult result = mockMvc.perform(get("/tasks/changes")
+                        .header(TaskChangeController.LAST_EVENT_ID_HEADER, Long.toString(before)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result, "event:deleted");
+        assertTrue(body.contains("id:" + (before + 1) + "\nevent:created\n"));
+        assertTrue(body.contains("\"title\":\"Streamed\""));
+        assertTrue(body.contains("id:" + (before + 2) + "\nevent:deleted\n"));
+        assertFalse(body.contains("event:" + TaskChangeStreams.RESYNC_EVENT));
+    }
+
+    @Test
+    void changes_askForResyncOnceTheClientFellBehindTheRing() throws Exception {
+        long before = feed.lastSequence();
+        for (int i = 0; i < 5; i++) {
+            taskService.create(new Task(null, "Filler " + i, null, TaskStatus.PENDING, null));
+        }
+
+        MvcResult result = mockMvc.perform(get("/tasks/changes")
+                        .header(TaskChangeController.LAST_EVENT_ID_HEADER, Long.toString(before)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result, "event:" + TaskChangeStreams.RESYNC_EVENT);
+        assertFalse(body.contains("event:created"));
+    }
+
+    @Test
+    void changes_rejectMalformedLastEventId() throws Exception {
+        mockMvc.perform(get("/tasks/changes").header(TaskChangeController.LAST_EVENT_ID_HEADER, "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.taskmanagement.domain.Task;
 import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.dto.request.BatchUpdateTaskRequest;
 import com.taskmanagement.dto.request.CreateTaskRequest;
 import com.taskmanagement.dto.request.UpdateTaskRequest;
 import com.taskmanagement.repositories.InMemoryTaskRepository;
@@ -15,9 +16,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -82,6 +87,35 @@ public class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.title").value("Test"));
     }
 
+    @Test
+    void getTask_matchingIfNoneMatch_returns304() throws Exception {
+        Task saved = repository.save(new Task("1", "Test", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        String eTag = "\"" + saved.getVersion() + "\"";
+
+        mockMvc.perform(get("/tasks/{id}", "1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/tasks/{id}", "1").header("If-None-Match", "\"0\", W/\"" + (saved.getVersion() + 1) + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTask_afterUpdate_servesNewVersion() throws Exception {
+        repository.save(new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        mockMvc.perform(get("/tasks/{id}", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Old"));
+
+        repository.save(new Task("1", "New", "Desc", TaskStatus.DONE, LocalDate.now().plusDays(2)));
+        mockMvc.perform(get("/tasks/{id}", "1"))
+                .andExpect(jsonPath("$.title").value("New"))
+                .andExpect(jsonPath("$.status").value("DONE"));
+        mockMvc.perform(get("/tasks"))
+                .andExpect(jsonPath("$[0].title").value("New"));
+    }
+
     @Test
     void getTask_missing_returns404() throws Exception {
         mockMvc.perform(get("/tasks/{id}", "no-id"))
@@ -155,4 +189,309 @@ public class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].id").value("3"))
                 .andExpect(jsonPath("$[1].id").value("1"));
     }
+
+    @Test
+    void listTasks_withCursor_walksAllPages() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            repository.save(new Task(String.valueOf(i), "T" + i, null, TaskStatus.PENDING, LocalDate.now().plusDays(i)));
+        }
+
+        String next = mockMvc.perform(get("/tasks")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/tasks")
+                        .param("size", "2")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("3"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void listTasks_unchangedSinceETag_returns304() throws Exception {
+        repository.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+
+        String eTag = mockMvc.perform(get("/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        repository.save(new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        mockMvc.perform(get("/tasks").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void listTasks_dueRangeAndOverdue() throws Exception {
+        LocalDate today = LocalDate.now();
+        repository.save(new Task("1", "A", null, TaskStatus.PENDING, today.minusDays(2)));
+        repository.save(new Task("2", "B", null, TaskStatus.DONE, today.minusDays(1)));
+        repository.save(new Task("3", "C", null, TaskStatus.PENDING, today.plusDays(3)));
+        repository.save(new Task("4", "D", null, TaskStatus.PENDING, today.plusDays(10)));
+
+        mockMvc.perform(get("/tasks")
+                        .param("dueAfter", today.toString())
+                        .param("dueBefore", today.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("3"));
+
+        mockMvc.perform(get("/tasks").param("overdue", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("1"));
+
+        mockMvc.perform(get("/tasks")
+                        .param("dueAfter", today.plusDays(7).toString())
+                        .param("dueBefore", today.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void stats_andTotalCountHeader() throws Exception {
+        LocalDate today = LocalDate.now();
+        repository.save(new Task("1", "A", null, TaskStatus.PENDING, today.minusDays(1)));
+        repository.save(new Task("2", "B", null, TaskStatus.DONE, today.plusDays(1)));
+        repository.save(new Task("3", "C", null, TaskStatus.IN_PROGRESS, today.plusDays(1)));
+
+        mockMvc.perform(get("/tasks/stats").param("days", "3").param("weeks", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.DONE").value(1))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.dueByDay['" + today.plusDays(1) + "']").value(1))
+                .andExpect(jsonPath("$.dueByWeek.length()").value(1));
+
+        mockMvc.perform(get("/tasks").param("size", "1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("X-Total-Count", "3"));
+        mockMvc.perform(get("/tasks").param("overdue", "true"))
+                .andExpect(header().string("X-Total-Count", "1"));
+    }
+
+    @Test
+    void listTasks_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void updateTask_matchingIfMatch_returns200WithNewETag() throws Exception {
+        repository.save(new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+
+        UpdateTaskRequest req = new UpdateTaskRequest();
+        req.setTitle("New");
+
+        mockMvc.perform(put("/tasks/{id}", "1")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.title").value("New"));
+    }
+
+    @Test
+    void updateTask_staleIfMatch_returns412() throws Exception {
+        repository.save(new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        repository.save(new Task("1", "Changed", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+
+        UpdateTaskRequest req = new UpdateTaskRequest();
+        req.setTitle("New");
+
+        mockMvc.perform(put("/tasks/{id}", "1")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void createBatch_returnsPerItemResults() throws Exception {
+        CreateTaskRequest valid = new CreateTaskRequest();
+        valid.setTitle("Batch 1");
+        valid.setDueDate(LocalDate.now().plusDays(1));
+        CreateTaskRequest missingTitle = new CreateTaskRequest();
+        missingTitle.setDueDate(LocalDate.now().plusDays(1));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, missingTitle))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].task.title").value("Batch 1"))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].error").value("title: title is required"));
+    }
+
+    @Test
+    void updateAndDeleteBatch_returnPerItemResults() throws Exception {
+        repository.save(new Task("1", "Old", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        repository.save(new Task("2", "Other", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+
+        BatchUpdateTaskRequest update = new BatchUpdateTaskRequest();
+        update.setId("1");
+        update.setStatus(TaskStatus.DONE);
+        BatchUpdateTaskRequest missing = new BatchUpdateTaskRequest();
+        missing.setId("no-id");
+        missing.setTitle("X");
+
+        mockMvc.perform(put("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(update, missing))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].task.status").value("DONE"))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+
+        mockMvc.perform(delete("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("1", "2", "no-id"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results[2].status").value(404));
+
+        mockMvc.perform(get("/tasks"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void search_returnsRankedMatches() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(1);
+        repository.save(new Task("1", "Release notes", "Draft the release notes", TaskStatus.PENDING, due));
+        repository.save(new Task("2", "Release", null, TaskStatus.DONE, due));
+        repository.save(new Task("3", "Unrelated", null, TaskStatus.PENDING, due));
+
+        mockMvc.perform(get("/tasks/search").param("q", "releas*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[1].id").value("2"));
+
+        mockMvc.perform(get("/tasks/search").param("q", "release").param("status", "DONE"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("2"));
+
+        mockMvc.perform(get("/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void search_rejectsSizesOutsideTheAllowedRange() throws Exception {
+        mockMvc.perform(get("/tasks/search").param("q", "a*").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/search").param("q", "a*")
+                        .param("size", Integer.toString(TaskController.MAX_SEARCH_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/search").param("q", "a*")
+                        .param("size", Integer.toString(TaskController.MAX_SEARCH_SIZE)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void export_streamsMatchingTasksAsNdjson() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(5);
+        repository.save(new Task("1", "Export A", null, TaskStatus.PENDING, due));
+        repository.save(new Task("2", "Export B", null, TaskStatus.DONE, due));
+        repository.save(new Task("3", "Export C", null, TaskStatus.PENDING, due.plusDays(10)));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                        .param("status", "PENDING")
+                        .param("dueBefore", due.plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Export A\""));
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void import_acceptsValidLinesAndReportsRejectedOnes() throws Exception {
+        String due = LocalDate.now().plusDays(3).toString();
+        String body = "{\"title\":\"Imported 1\",\"dueDate\":\"" + due + "\"}\n"
+                + "{\"dueDate\":\"" + due + "\"}\n"
+                + "\n"
+                + "{not json\n"
+                + "{\"title\":\"Imported 2\",\"status\":\"DONE\",\"dueDate\":\"" + due + "\"}";
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("title: title is required"))
+                .andExpect(jsonPath("$.errors[1].line").value(4));
+
+        mockMvc.perform(get("/tasks").param("status", "DONE"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Imported 2"));
+    }
+
+    @Test
+    void import_rejectsOverlongLinesAndCarriesOn() throws Exception {
+        String due = LocalDate.now().plusDays(3).toString();
+        String body = "{\"title\":\"" + "x".repeat(TaskImporter.MAX_LINE_LENGTH) + "\"}\n"
+                + "{\"title\":\"After\",\"dueDate\":\"" + due + "\"}\n";
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(1))
+                .andExpect(jsonPath("$.errors[0].error")
+                        .value("Line is longer than " + TaskImporter.MAX_LINE_LENGTH + " characters"));
+    }
+
+    @Test
+    void import_reportsTheEarliestRejectedLines() throws Exception {
+        String body = "{not json\n".repeat(TaskImporter.BATCH_LINES * 4);
+        int last = TaskImporter.MAX_REPORTED_ERRORS - 1;
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected").value(TaskImporter.BATCH_LINES * 4))
+                .andExpect(jsonPath("$.errors.length()").value(TaskImporter.MAX_REPORTED_ERRORS))
+                .andExpect(jsonPath("$.errors[0].line").value(1))
+                .andExpect(jsonPath("$.errors[" + last + "].line").value(last + 1));
+    }
+
+    @Test
+    void metrics_exposesPrometheusText() throws Exception {
+        mockMvc.perform(get("/tasks/missing"))
+                .andExpect(status().isNotFound());
+
+        String body = mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("# TYPE task_operation_duration_seconds histogram"));
+        assertTrue(body.contains("task_api_errors_total{exception=\"TaskNotFoundException\"}"));
+        assertTrue(body.contains("task_store_tasks{status=\"PENDING\"}"));
+    }
 }
@@ -0,0 +1,66 @@
+package com.taskmanagement.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.config.JsonConfiguration;
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJsonCacheTest {
+
+    private static final ObjectMapper MAPPER = new JsonConfiguration().taskObjectMapper();
+
+    @Test
+    void json_isReusedForTheSameVersionAndReencodedForANewOne() {
+        TaskJsonCache cache = new TaskJsonCache(MAPPER, 10);
+        Task task = new Task("1", "A", null, TaskStatus.PENDING, LocalDate.of(2030, 1, 2), 1);
+
+        byte[] first = cache.json(task);
+        assertEquals("{\"description\":null,\"dueDate\":\"2030-01-02\",\"id\":\"1\",\"status\":\"PENDING\",\"title\":\"A\"}",
+                new String(first, StandardCharsets.UTF_8));
+        assertSame(first, cache.json(task));
+
+        Task renamed = new Task("1", "B", null, TaskStatus.PENDING, LocalDate.of(2030, 1, 2), 2);
+        assertTrue(new String(cache.json(renamed), StandardCharsets.UTF_8).contains("\"title\":\"B\""));
+
+        // An older snapshot read late must not displace the newer entry.
+        cache.json(task);
+        assertSame(cache.json(renamed), cache.json(renamed));
+    }
+
+    @Test
+    void jsonArray_concatenatesFragments() {
+        TaskJsonCache cache = new TaskJsonCache(MAPPER, 10);
+        Task a = new Task("a", "A", null, TaskStatus.DONE, null, 1);
+        Task b = new Task("b", "B", "d", TaskStatus.PENDING, null, 2);
+
+        String expected = "[" + new String(cache.json(a), StandardCharsets.UTF_8) + ","
+                + new String(cache.json(b), StandardCharsets.UTF_8) + "]";
+        assertEquals(expected, new String(cache.jsonArray(List.of(a, b)), StandardCharsets.UTF_8));
+        assertEquals("[]", new String(cache.jsonArray(List.of()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void evictAndCapacity_boundTheCache() {
+        TaskJsonCache cache = new TaskJsonCache(MAPPER, 2);
+        for (int i = 0; i < 5; i++) {
+            cache.json(new Task("t" + i, "T", null, null, null, i));
+        }
+        assertEquals(2, cache.size());
+
+        TaskJsonCache disabled = new TaskJsonCache(MAPPER, 0);
+        disabled.json(new Task("x", "X", null, null, null, 1));
+        assertEquals(0, disabled.size());
+
+        TaskJsonCache small = new TaskJsonCache(MAPPER, 5);
+        small.json(new Task("x", "X", null, null, null, 1));
+        small.evict("x");
+        assertEquals(0, small.size());
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskmanagement.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @Test
+    void record_isNoOpWithoutBoundTiming() {
+        assertEquals(0, RequestTiming.start());
+        RequestTiming.record(RequestTiming.Phase.SERVICE, System.nanoTime());
+        RequestTiming.bodyReadStarted();
+        RequestTiming.bodyReadFinished();
+    }
+
+    @Test
+    void finish_reportsPhasesInPipelineOrder() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.bodyReadStarted();
+        RequestTiming.bodyReadFinished();
+        long serviceStart = RequestTiming.start();
+        long repositoryStart = RequestTiming.start();
+        RequestTiming.record(RequestTiming.Phase.REPOSITORY, repositoryStart);
+        RequestTiming.record(RequestTiming.Phase.SERVICE, serviceStart);
+        RequestTiming.bodyWriteStarted();
+        timing.finish();
+
+        assertEquals(0, RequestTiming.start());
+        assertEquals(List.of("bind", "validate", "service", "repository", "serialize"),
+                List.copyOf(timing.phasesMillis().keySet()));
+        String header = timing.toServerTiming();
+        assertTrue(header.matches("bind;dur=\\d+\\.\\d{3}, validate;dur=.*, total;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    void slowRequestLog_keepsMostRecentEntriesSlowestFirst() {
+        SlowRequestLog log = new SlowRequestLog(Duration.ofMillis(10), 2);
+        assertFalse(log.isSlow(Duration.ofMillis(9).toNanos()));
+        assertTrue(log.isSlow(Duration.ofMillis(10).toNanos()));
+
+        log.add(request(50));
+        log.add(request(20));
+        log.add(request(30));
+
+        assertEquals(List.of(30.0, 20.0), log.slowest().stream().map(SlowRequestLog.SlowRequest::totalMillis).toList());
+    }
+
+    private static SlowRequestLog.SlowRequest request(double millis) {
+        return new SlowRequestLog.SlowRequest(Instant.now(), "GET", "/tasks", 200, millis, Map.of());
+    }
+}
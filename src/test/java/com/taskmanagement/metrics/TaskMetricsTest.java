@@ -0,0 +1,64 @@
+package com.taskmanagement.metrics;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskMetricsTest {
+
+    private InMemoryTaskRepository repository;
+    private TaskMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        metrics = new TaskMetrics(repository);
+    }
+
+    @Test
+    void scrape_rendersCumulativeHistogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);            // first bucket (<= 1024 ns)
+        histogram.record(1_500);          // second bucket (<= 2048 ns)
+        histogram.record(60_000_000_000L); // beyond the last bound
+
+        StringBuilder out = new StringBuilder();
+        histogram.writeTo(out, "h", "op=\"x\",");
+        String text = out.toString();
+
+        assertTrue(text.contains("h_bucket{op=\"x\",le=\"1.024E-6\"} 1\n"), text);
+        assertTrue(text.contains("h_bucket{op=\"x\",le=\"2.048E-6\"} 2\n"), text);
+        assertTrue(text.contains("h_bucket{op=\"x\",le=\"+Inf\"} 3\n"), text);
+        assertTrue(text.contains("h_count{op=\"x\"} 3\n"), text);
+    }
+
+    @Test
+    void scrape_reportsOperationsScansErrorsAndStatusCounts() {
+        repository.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repository.save(new Task("2", "B", null, TaskStatus.DONE, LocalDate.now().plusDays(1)));
+        repository.save(new Task("2", "B", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(1)));
+
+        metrics.recordLatency(TaskMetrics.Operation.GET, System.nanoTime());
+        metrics.recordScan(30, 10);
+        metrics.recordError(TaskNotFoundException.class);
+        metrics.recordError(TaskNotFoundException.class);
+
+        String text = metrics.scrape();
+
+        assertTrue(text.contains("task_operation_duration_seconds_count{operation=\"get\"} 1\n"), text);
+        assertTrue(text.contains("task_operation_duration_seconds_count{operation=\"create\"} 0\n"), text);
+        assertTrue(text.contains("task_list_rows_scanned_total 30\n"), text);
+        assertTrue(text.contains("task_list_rows_returned_total 10\n"), text);
+        assertTrue(text.contains("task_store_tasks{status=\"PENDING\"} 1\n"), text);
+        assertTrue(text.contains("task_store_tasks{status=\"IN_PROGRESS\"} 1\n"), text);
+        assertTrue(text.contains("task_store_tasks{status=\"DONE\"} 0\n"), text);
+        assertTrue(text.contains("task_api_errors_total{exception=\"TaskNotFoundException\"} 2\n"), text);
+    }
+}
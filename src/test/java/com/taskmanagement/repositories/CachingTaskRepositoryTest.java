@@ -0,0 +1,152 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link InMemoryTaskRepositoryTest} case through a small lookup cache, plus
+ * checks of what is cached, what is kept and when the store is asked.
+ */
+class CachingTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    @Override
+    TaskRepository newRepository() {
+        return new CachingTaskRepository(new CountingRepository(), 4);
+    }
+
+    @Test
+    void findById_servesRepeatedLookupsFromTheCache() {
+        CountingRepository store = new CountingRepository();
+        CachingTaskRepository cache = new CachingTaskRepository(store, 100);
+        cache.save(new Task("1", "Hot", null, TaskStatus.PENDING, null));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Hot", cache.findById("1").orElseThrow().getTitle());
+        }
+
+        assertEquals(1, store.lookups);
+        assertEquals(4, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void findById_cachesMissingIdsUntilTheyAreSaved() {
+        CountingRepository store = new CountingRepository();
+        CachingTaskRepository cache = new CachingTaskRepository(store, 100);
+
+        assertTrue(cache.findById("404").isEmpty());
+        assertTrue(cache.findById("404").isEmpty());
+        assertEquals(1, store.lookups);
+
+        cache.save(new Task("404", "Now here", null, TaskStatus.PENDING, null));
+
+        assertEquals("Now here", cache.findById("404").orElseThrow().getTitle());
+        assertEquals(2, store.lookups);
+    }
+
+    @Test
+    void writes_dropCachedEntries() {
+        CachingTaskRepository cache = new CachingTaskRepository(new CountingRepository(), 100);
+        Task saved = cache.save(new Task("1", "First", null, TaskStatus.PENDING, null));
+        cache.saveAll(List.of(new Task("2", "Other", null, TaskStatus.PENDING, null)));
+        cache.findById("1");
+        cache.findById("2");
+
+        cache.replace(saved.getVersion(), new Task("1", "Second", null, TaskStatus.DONE, null));
+        cache.deleteAllById(List.of("2"));
+
+        assertEquals("Second", cache.findById("1").orElseThrow().getTitle());
+        assertTrue(cache.findById("2").isEmpty());
+
+        cache.deleteById("1");
+        assertTrue(cache.findById("1").isEmpty());
+    }
+
+    @Test
+    void findById_doesNotCacheALookupThatRacedWithAWrite() {
+        CountingRepository store = new CountingRepository();
+        CachingTaskRepository cache = new CachingTaskRepository(store, 100);
+        cache.save(new Task("1", "Old", null, TaskStatus.PENDING, null));
+        // The write lands after the store answered the lookup but before the answer is cached.
+        store.afterLookup = () -> cache.save(new Task("1", "New", null, TaskStatus.PENDING, null));
+
+        assertEquals("Old", cache.findById("1").orElseThrow().getTitle());
+        assertEquals("New", cache.findById("1").orElseThrow().getTitle());
+    }
+
+    @Test
+    void eviction_keepsFrequentlyReadTasksThroughAScanOfOneOffLookups() {
+        CountingRepository store = new CountingRepository();
+        CachingTaskRepository cache = new CachingTaskRepository(store, 100);
+        for (int i = 0; i < 10; i++) {
+            cache.save(new Task("hot-" + i, "Hot", null, TaskStatus.PENDING, null));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.findById("hot-" + i);
+            }
+        }
+        int warmed = store.lookups;
+
+        // Between reads of the hot tasks come as many one-off lookups as the cache holds,
+        // which would push every hot task out of a plain LRU cache.
+        for (int i = 0; i < 10_000; i++) {
+            cache.findById("cold-" + i);
+            if (i % 100 == 99) {
+                for (int hot = 0; hot < 10; hot++) {
+                    assertTrue(cache.findById("hot-" + hot).isPresent());
+                }
+            }
+        }
+
+        assertEquals(warmed + 10_000, store.lookups, "hot tasks were evicted by the scan");
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.evictions() >= 10_000 - 100);
+    }
+
+    @Test
+    void writeMetrics_reportsHitsMissesAndEvictions() {
+        CachingTaskRepository cache = new CachingTaskRepository(new CountingRepository(), 2);
+        cache.save(new Task("1", "A", null, TaskStatus.PENDING, null));
+        cache.findById("1");
+        cache.findById("1");
+        cache.findById("404");
+        cache.findById("404");
+        cache.findById("405");
+        cache.findById("406");
+
+        StringBuilder out = new StringBuilder();
+        cache.writeMetrics(out);
+        String metrics = out.toString();
+
+        assertTrue(metrics.contains("task_cache_requests_total{result=\"hit\"} 1\n"), metrics);
+        assertTrue(metrics.contains("task_cache_requests_total{result=\"negative_hit\"} 1\n"), metrics);
+        assertTrue(metrics.contains("task_cache_requests_total{result=\"miss\"} 4\n"), metrics);
+        assertTrue(metrics.contains("task_cache_evictions_total 2\n"), metrics);
+        assertTrue(metrics.contains("task_cache_entries 2\n"), metrics);
+    }
+
+    // Counts lookups that reach the store.
+    private static class CountingRepository extends InMemoryTaskRepository {
+        int lookups;
+        Runnable afterLookup;
+
+        @Override
+        public Optional<Task> findById(String id) {
+            lookups++;
+            Optional<Task> task = super.findById(id);
+            Runnable hook = afterLookup;
+            afterLookup = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return task;
+        }
+    }
+}
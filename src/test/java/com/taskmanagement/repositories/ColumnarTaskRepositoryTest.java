@@ -0,0 +1,130 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.services.UlidTaskIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link InMemoryTaskRepositoryTest} case against the columnar store, plus the
+ * cases specific to its layout.
+ */
+class ColumnarTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    @Override
+    TaskRepository newRepository() {
+        return new ColumnarTaskRepository();
+    }
+
+    @Test
+    void ulidIds_roundTripAndSortLikeStrings() {
+        UlidTaskIdGenerator ids = new UlidTaskIdGenerator();
+        LocalDate due = LocalDate.now().plusDays(1);
+        List<String> saved = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String id = ids.nextId();
+            saved.add(id);
+            repo.save(new Task(id, "Task " + i, null, TaskStatus.PENDING, due));
+        }
+        repo.save(new Task("legacy-1", "Legacy", null, TaskStatus.PENDING, due));
+        saved.add("legacy-1");
+
+        for (String id : saved) {
+            assertEquals(id, repo.findById(id).orElseThrow().getId());
+        }
+        assertTrue(repo.findById(saved.getFirst().toLowerCase()).isEmpty());
+        assertEquals(saved.stream().sorted().toList(), ids(repo.findAll(TaskFilter.ALL, 0, 0).stream()));
+
+        List<Task> firstPage = repo.findAll(TaskFilter.ALL, 0, 20);
+        assertEquals(saved.stream().sorted().skip(20).limit(20).toList(),
+                ids(repo.findAllAfter(TaskFilter.ALL, TaskCursor.after(firstPage.getLast()), 20).stream()));
+    }
+
+    @Test
+    void deletedSlots_areReusedWithoutLosingOtherTasks() {
+        UlidTaskIdGenerator ids = new UlidTaskIdGenerator();
+        LocalDate due = LocalDate.now().plusDays(1);
+        List<String> live = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 1000; i++) {
+                String id = ids.nextId();
+                live.add(id);
+                repo.save(new Task(id, "Task", "Round " + round, TaskStatus.PENDING, due));
+            }
+            // Drop every other task, which punches holes all over the id table's probe runs.
+            List<String> deleted = new ArrayList<>();
+            for (int i = 0; i < live.size(); i += 2) {
+                deleted.add(live.get(i));
+            }
+            repo.deleteAllById(deleted);
+            live.removeAll(deleted);
+        }
+
+        assertEquals(live.size(), repo.countByStatus(TaskStatus.PENDING));
+        for (String id : live) {
+            assertTrue(repo.findById(id).isPresent(), id);
+        }
+        assertEquals(live.stream().sorted().toList(), ids(repo.findAll(TaskFilter.ALL, 0, 0).stream()));
+    }
+
+    @Test
+    void text_survivesRewritesAndCompaction() {
+        ColumnarTaskRepository offHeap = new ColumnarTaskRepository(true);
+        Task task = offHeap.save(new Task("1", "Grüße", null, TaskStatus.PENDING, null));
+        String description = "x".repeat(4096);
+        for (int i = 0; i < 1000; i++) {
+            task = offHeap.replace(task.getVersion(), new Task("1", "Title " + i, description, TaskStatus.PENDING, null))
+                    .orElseThrow();
+        }
+        offHeap.save(new Task("2", "Grüße", "", TaskStatus.DONE, null));
+
+        Task reloaded = offHeap.findById("1").orElseThrow();
+        assertEquals("Title 999", reloaded.getTitle());
+        assertEquals(description, reloaded.getDescription());
+        assertEquals("", offHeap.findById("2").orElseThrow().getDescription());
+        assertEquals(List.of("2"), ids(offHeap.search("grüße", null, 0).stream()));
+    }
+
+    @Test
+    void stream_skipsTasksDeletedWhileWalkingAndSeesUpdates() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, due));
+        Task second = repo.save(new Task("2", "B", null, TaskStatus.PENDING, due));
+
+        Stream<Task> stream = repo.stream(null, null, null);
+        repo.deleteById("1");
+        repo.save(new Task("3", "C", null, TaskStatus.PENDING, due));
+        repo.replace(second.getVersion(), new Task("2", "B2", null, TaskStatus.PENDING, due));
+
+        assertEquals(List.of("B2"), stream.map(Task::getTitle).toList());
+    }
+
+    @Test
+    void stream_skipsTasksUpdatedOutOfTheFilterWhileWalking() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        Task first = repo.save(new Task("1", "A", null, TaskStatus.PENDING, due));
+        Task second = repo.save(new Task("2", "B", null, TaskStatus.PENDING, due));
+        Task third = repo.save(new Task("3", "C", null, TaskStatus.PENDING, due.plusDays(1)));
+        repo.save(new Task("4", "D", null, TaskStatus.PENDING, due.plusDays(2)));
+
+        Stream<Task> stream = repo.stream(TaskStatus.PENDING, null, due.plusDays(3));
+        repo.replace(first.getVersion(), new Task("1", "A", null, TaskStatus.DONE, due));
+        repo.replace(second.getVersion(), new Task("2", "B", null, TaskStatus.PENDING, due.plusDays(5)));
+        repo.replace(third.getVersion(), new Task("3", "C", null, TaskStatus.PENDING, due.plusDays(2)));
+
+        assertEquals(List.of("4"), ids(stream));
+    }
+
+    private static List<String> ids(Stream<Task> tasks) {
+        return tasks.map(Task::getId).toList();
+    }
+}
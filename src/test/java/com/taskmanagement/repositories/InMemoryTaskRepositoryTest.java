@@ -1,21 +1,31 @@
 package com.taskmanagement.repositories;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class InMemoryTaskRepositoryTest {
-    private InMemoryTaskRepository repo;
+    TaskRepository repo;
 
     @BeforeEach
     void setUp() {
-        repo = new InMemoryTaskRepository();
+        repo = newRepository();
+    }
+
+    TaskRepository newRepository() {
+        return new InMemoryTaskRepository();
     }
 
     @Test
@@ -38,7 +48,7 @@ class InMemoryTaskRepositoryTest {
         repo.save(t3);
 
         // No filter, page 0, size 10
-        List<Task> all = repo.findAll(null, 0, 10);
+        List<Task> all = repo.findAll(TaskFilter.ALL, 0, 10);
 
         assertEquals(3, all.size());
         assertEquals("2", all.get(0).getId()); // earliest due date
@@ -56,7 +66,7 @@ class InMemoryTaskRepositoryTest {
         repo.save(t2);
         repo.save(t3);
 
-        List<Task> pendingTasks = repo.findAll(TaskStatus.PENDING, 0, 10);
+        List<Task> pendingTasks = repo.findAll(TaskFilter.of(TaskStatus.PENDING), 0, 10);
         assertEquals(2, pendingTasks.size());
         assertEquals("3", pendingTasks.get(0).getId()); // dueDate sorted
         assertEquals("1", pendingTasks.get(1).getId());
@@ -68,9 +78,9 @@ class InMemoryTaskRepositoryTest {
             repo.save(new Task(String.valueOf(i), "T"+i, null, TaskStatus.PENDING, LocalDate.now().plusDays(i)));
         }
 
-        List<Task> page0 = repo.findAll(null, 0, 2);
-        List<Task> page1 = repo.findAll(null, 1, 2);
-        List<Task> page2 = repo.findAll(null, 2, 2);
+        List<Task> page0 = repo.findAll(TaskFilter.ALL, 0, 2);
+        List<Task> page1 = repo.findAll(TaskFilter.ALL, 1, 2);
+        List<Task> page2 = repo.findAll(TaskFilter.ALL, 2, 2);
 
         assertEquals(2, page0.size());
         assertEquals("1", page0.get(0).getId());
@@ -83,4 +93,322 @@ class InMemoryTaskRepositoryTest {
         assertEquals(1, page2.size());
         assertEquals("5", page2.get(0).getId());
     }
+
+    @Test
+    void findAll_reflectsStatusAndDueDateChanges() {
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+
+        repo.save(new Task("1", "A", null, TaskStatus.DONE, LocalDate.now().plusDays(3)));
+
+        List<Task> pending = repo.findAll(TaskFilter.of(TaskStatus.PENDING), 0, 10);
+        assertEquals(1, pending.size());
+        assertEquals("2", pending.get(0).getId());
+
+        List<Task> done = repo.findAll(TaskFilter.of(TaskStatus.DONE), 0, 10);
+        assertEquals(1, done.size());
+        assertEquals("1", done.get(0).getId());
+
+        List<Task> all = repo.findAll(TaskFilter.ALL, 0, 10);
+        assertEquals(2, all.size());
+        assertEquals("2", all.get(0).getId());
+        assertEquals("1", all.get(1).getId());
+    }
+
+    @Test
+    void findAll_sameDueDate_orderedById() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        repo.save(new Task("b", "B", null, TaskStatus.PENDING, due));
+        repo.save(new Task("a", "A", null, TaskStatus.PENDING, due));
+
+        List<Task> all = repo.findAll(TaskFilter.ALL, 0, 10);
+        assertEquals("a", all.get(0).getId());
+        assertEquals("b", all.get(1).getId());
+    }
+
+    @Test
+    void deleteById_removesFromListing() {
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(2)));
+
+        repo.deleteById("1");
+
+        assertTrue(repo.findById("1").isEmpty());
+        assertEquals(1, repo.findAll(TaskFilter.ALL, 0, 10).size());
+        assertTrue(repo.findAll(TaskFilter.of(TaskStatus.PENDING), 0, 10).isEmpty());
+    }
+
+    @Test
+    void findAllAfter_resumesFromCursor() {
+        for (int i = 1; i <= 5; i++) {
+            repo.save(new Task(String.valueOf(i), "T"+i, null, TaskStatus.PENDING, LocalDate.now().plusDays(i)));
+        }
+
+        List<Task> first = repo.findAllAfter(TaskFilter.ALL, null, 2);
+        assertEquals(2, first.size());
+        assertEquals("1", first.get(0).getId());
+        assertEquals("2", first.get(1).getId());
+
+        // A task inserted before the cursor position does not shift the next page
+        repo.save(new Task("0", "T0", null, TaskStatus.PENDING, LocalDate.now()));
+
+        List<Task> second = repo.findAllAfter(TaskFilter.ALL, TaskCursor.after(first.get(1)), 2);
+        assertEquals(2, second.size());
+        assertEquals("3", second.get(0).getId());
+        assertEquals("4", second.get(1).getId());
+
+        List<Task> last = repo.findAllAfter(TaskFilter.of(TaskStatus.PENDING), TaskCursor.after(second.get(1)), 2);
+        assertEquals(1, last.size());
+        assertEquals("5", last.get(0).getId());
+    }
+
+    @Test
+    void save_assignsIncreasingVersions() {
+        Task first = repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        Task second = repo.save(new Task("1", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertEquals(2, repo.findById("1").get().getVersion());
+    }
+
+    @Test
+    void replace_onlyAppliesToExpectedVersion() {
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+
+        Task next = new Task("1", "B", null, TaskStatus.DONE, LocalDate.now().plusDays(2));
+        assertTrue(repo.replace(1, next).isPresent());
+        assertTrue(repo.replace(1, next).isEmpty()); // stale
+        assertTrue(repo.replace(1, new Task("missing", "X", null, null, LocalDate.now())).isEmpty());
+
+        Task stored = repo.findById("1").get();
+        assertEquals("B", stored.getTitle());
+        assertEquals(2, stored.getVersion());
+        assertTrue(repo.findAll(TaskFilter.of(TaskStatus.PENDING), 0, 10).isEmpty());
+        assertEquals(1, repo.findAll(TaskFilter.of(TaskStatus.DONE), 0, 10).size());
+    }
+
+    @Test
+    void bulkOperations_applyEachItem() {
+        List<Task> saved = repo.saveAll(List.of(
+                new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)),
+                new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)),
+                new Task("3", "C", null, TaskStatus.PENDING, LocalDate.now().plusDays(3))));
+        assertEquals(3, saved.size());
+        assertEquals(3, repo.findAll(TaskFilter.ALL, 0, 0).size());
+
+        List<Optional<Task>> replaced = repo.replaceAll(List.of(
+                new TaskReplacement(saved.get(0).getVersion(), new Task("1", "A2", null, TaskStatus.DONE, LocalDate.now().plusDays(1))),
+                new TaskReplacement(saved.get(1).getVersion() + 100, new Task("2", "B2", null, TaskStatus.DONE, LocalDate.now().plusDays(2)))));
+        assertTrue(replaced.get(0).isPresent());
+        assertTrue(replaced.get(1).isEmpty());
+        assertEquals(1, repo.findAll(TaskFilter.of(TaskStatus.DONE), 0, 10).size());
+
+        List<OptionalLong> deleted = repo.deleteAllById(List.of("1", "3", "missing", "1"));
+        assertTrue(deleted.get(0).getAsLong() > replaced.get(0).get().getVersion());
+        assertTrue(deleted.get(1).isPresent());
+        assertTrue(deleted.get(2).isEmpty());
+        assertTrue(deleted.get(3).isEmpty(), "a repeated id is only deleted once");
+        List<Task> remaining = repo.findAll(TaskFilter.ALL, 0, 10);
+        assertEquals(1, remaining.size());
+        assertEquals("2", remaining.get(0).getId());
+    }
+
+    @Test
+    void stream_appliesStatusAndExclusiveDueDateBounds() {
+        LocalDate today = LocalDate.now();
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, today.plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.DONE, today.plusDays(2)));
+        repo.save(new Task("3", "C", null, TaskStatus.PENDING, today.plusDays(3)));
+        repo.save(new Task("4", "D", null, TaskStatus.PENDING, null));
+
+        assertEquals(List.of("1", "2", "3", "4"), ids(repo.stream(null, null, null)));
+        assertEquals(List.of("2", "3"), ids(repo.stream(null, today.plusDays(1), null)));
+        assertEquals(List.of("1"), ids(repo.stream(null, null, today.plusDays(2))));
+        assertEquals(List.of("3"), ids(repo.stream(TaskStatus.PENDING, today.plusDays(1), today.plusDays(4))));
+    }
+
+    private static List<String> ids(Stream<Task> tasks) {
+        return tasks.map(Task::getId).toList();
+    }
+
+    @Test
+    void countByStatus_followsSavesStatusChangesAndDeletes() {
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.DONE, LocalDate.now().plusDays(1)));
+        repo.save(new Task("1", "A2", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+
+        assertEquals(1, repo.countByStatus(TaskStatus.PENDING));
+        assertEquals(1, repo.countByStatus(TaskStatus.DONE));
+
+        repo.deleteById("2");
+        assertEquals(0, repo.countByStatus(TaskStatus.DONE));
+        assertEquals(0, repo.countByStatus(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void modificationCount_movesOnlyWhenTheStoreChanges() {
+        long start = repo.modificationCount();
+        Task saved = repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        long afterSave = repo.modificationCount();
+        assertTrue(afterSave > start);
+
+        assertTrue(repo.replace(saved.getVersion() + 1, new Task("1", "B", null, null, null)).isEmpty());
+        repo.deleteById("missing");
+        assertEquals(afterSave, repo.modificationCount());
+
+        repo.deleteById("1");
+        assertTrue(repo.modificationCount() > afterSave);
+    }
+
+    @Test
+    void search_matchesAllWordsAndPrefixesRankedByFrequency() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        repo.save(new Task("1", "Write report", "Quarterly report for finance", TaskStatus.PENDING, due));
+        repo.save(new Task("2", "Review report", null, TaskStatus.DONE, due));
+        repo.save(new Task("3", "Write tests", "Write unit tests, then rewrite them", TaskStatus.PENDING, due));
+
+        assertEquals(List.of("1", "2"), ids(repo.search("report", null, 0).stream()));
+        assertEquals(List.of("1"), ids(repo.search("WRITE report", null, 0).stream()));
+        assertEquals(List.of("3", "1"), ids(repo.search("wri*", null, 0).stream()));
+        assertEquals(List.of("2"), ids(repo.search("rep*", TaskStatus.DONE, 10).stream()));
+        assertEquals(List.of("1"), ids(repo.search("report", null, 1).stream()));
+        assertTrue(repo.search("report missing", null, 0).isEmpty());
+        assertTrue(repo.search("  ", null, 0).isEmpty());
+    }
+
+    @Test
+    void search_followsUpdatesAndDeletes() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        Task saved = repo.save(new Task("1", "Buy milk", null, TaskStatus.PENDING, due));
+        repo.save(new Task("2", "Buy bread", null, TaskStatus.PENDING, due));
+
+        repo.replace(saved.getVersion(), new Task("1", "Buy coffee", null, TaskStatus.DONE, due));
+        assertTrue(repo.search("milk", null, 0).isEmpty());
+        assertEquals(List.of("1"), ids(repo.search("coffee", TaskStatus.DONE, 0).stream()));
+
+        repo.deleteById("2");
+        assertEquals(List.of("1"), ids(repo.search("buy", null, 0).stream()));
+
+        // The freed document number is reused by the next new task.
+        repo.save(new Task("3", "Buy tea", null, TaskStatus.PENDING, due));
+        assertEquals(List.of("1", "3"), ids(repo.search("buy", null, 0).stream()));
+    }
+
+    @Test
+    void search_seesStatusChangesThatLeaveTheTextAlone() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        Task saved = repo.save(new Task("1", "Buy milk", null, TaskStatus.PENDING, due));
+
+        repo.replace(saved.getVersion(), new Task("1", "Buy milk", null, TaskStatus.DONE, due));
+
+        assertTrue(repo.search("milk", TaskStatus.PENDING, 0).isEmpty());
+        assertEquals(List.of("1"), ids(repo.search("milk", TaskStatus.DONE, 0).stream()));
+    }
+
+    @Test
+    void search_neverReturnsTasksWithoutTheWordsWhileTasksAreReplaced() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 500; i++) {
+            repo.save(new Task("apple-" + i, "Apple pie", null, TaskStatus.PENDING, due));
+        }
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                // Each deleted task frees its slot in the index for the task created next.
+                for (int i = 0; i < 5000; i++) {
+                    String apple = "apple-" + i % 500;
+                    repo.deleteById(apple);
+                    repo.save(new Task("banana-" + i, "Banana bread", null, TaskStatus.PENDING, due));
+                    repo.deleteById("banana-" + i);
+                    repo.save(new Task(apple, "Apple pie", null, TaskStatus.PENDING, due));
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+
+        writer.start();
+        while (writer.isAlive() && failure.get() == null) {
+            for (Task task : repo.search("apple", null, 0)) {
+                if (!task.getTitle().contains("Apple")) {
+                    failure.compareAndSet(null, new AssertionError("Matched " + task.getTitle()));
+                }
+            }
+        }
+        writer.join();
+
+        assertNull(failure.get());
+    }
+
+    @Test
+    void search_staysExactAcrossManyInsertsAndDeletes() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 3000; i++) {
+            repo.save(new Task(String.format("%04d", i), "Shared " + (i % 2 == 0 ? "even" : "odd") + " w" + i % 7,
+                    null, TaskStatus.PENDING, due));
+        }
+        for (int i = 0; i < 3000; i++) {
+            if (i % 3 != 0) {
+                repo.deleteById(String.format("%04d", i));
+            }
+        }
+
+        // Left: multiples of 3, of which the even ones are multiples of 6.
+        assertEquals(1000, repo.search("shared", null, 0).size());
+        assertEquals(500, repo.search("shared even", null, 0).size());
+        assertEquals(500, repo.search("odd sha*", null, 0).size());
+        // Multiples of 6 that are 0 mod 7: multiples of 42 below 3000.
+        assertEquals(72, repo.search("even w0", null, 0).size());
+        assertEquals(1000, repo.search("w*", null, 0).size());
+        assertEquals(List.of("0000", "0003"), ids(repo.search("shared", null, 2).stream()));
+    }
+
+    @Test
+    void findAll_dueDateRangeAndOverdue() {
+        LocalDate today = LocalDate.now();
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, today.minusDays(3)));
+        repo.save(new Task("2", "B", null, TaskStatus.DONE, today.minusDays(2)));
+        repo.save(new Task("3", "C", null, TaskStatus.IN_PROGRESS, today.minusDays(1)));
+        repo.save(new Task("4", "D", null, TaskStatus.PENDING, today));
+        repo.save(new Task("5", "E", null, TaskStatus.PENDING, today.plusDays(5)));
+        repo.save(new Task("6", "F", null, TaskStatus.PENDING, null));
+
+        assertEquals(List.of("3", "4"), ids(repo.findAll(new TaskFilter(null, today.minusDays(2), today.plusDays(1), false), 0, 0).stream()));
+        assertEquals(List.of("4", "5"), ids(repo.findAll(new TaskFilter(TaskStatus.PENDING, today.minusDays(1), null, false), 0, 0).stream()));
+        assertEquals(List.of("1", "3"), ids(repo.findAll(new TaskFilter(null, null, null, true), 0, 0).stream()));
+        assertEquals(List.of("3"), ids(repo.findAll(new TaskFilter(null, null, null, true), 1, 1).stream()));
+        assertEquals(List.of("1"), ids(repo.findAll(new TaskFilter(TaskStatus.PENDING, null, null, true), 0, 0).stream()));
+        assertTrue(repo.findAll(new TaskFilter(TaskStatus.DONE, null, null, true), 0, 0).isEmpty());
+
+        List<Task> first = repo.findAllAfter(new TaskFilter(null, null, null, true), null, 1);
+        assertEquals(List.of("3"), ids(repo.findAllAfter(new TaskFilter(null, null, null, true), TaskCursor.after(first.get(0)), 5).stream()));
+        // A cursor before the range start does not widen the range.
+        assertEquals(List.of("5"), ids(repo.findAllAfter(new TaskFilter(null, today, null, false), TaskCursor.after(first.get(0)), 5).stream()));
+    }
+
+    @Test
+    void count_followsStatusAndDueDateMovesWithoutScanning() {
+        LocalDate today = LocalDate.now();
+        repo.save(new Task("1", "A", null, TaskStatus.PENDING, today.minusDays(3)));
+        repo.save(new Task("2", "B", null, TaskStatus.DONE, today.minusDays(2)));
+        Task moving = repo.save(new Task("3", "C", null, TaskStatus.IN_PROGRESS, today.plusDays(1)));
+        repo.save(new Task("4", "D", null, TaskStatus.PENDING, null));
+
+        assertEquals(4, repo.count(TaskFilter.ALL));
+        assertEquals(2, repo.count(TaskFilter.of(TaskStatus.PENDING)));
+        assertEquals(1, repo.count(new TaskFilter(null, null, null, true)));
+        assertEquals(2, repo.count(new TaskFilter(null, today.minusDays(3), null, false)));
+        assertArrayEquals(new long[]{0, 1, 0}, repo.countOpenByDueDate(today, 3));
+
+        repo.replace(moving.getVersion(), new Task("3", "C", null, TaskStatus.PENDING, today.minusDays(1)));
+        assertEquals(2, repo.count(new TaskFilter(null, null, null, true)));
+        assertArrayEquals(new long[]{0, 0, 0}, repo.countOpenByDueDate(today, 3));
+
+        repo.deleteById("1");
+        assertEquals(1, repo.count(new TaskFilter(TaskStatus.PENDING, null, null, true)));
+        assertEquals(repo.findAll(new TaskFilter(null, today.minusDays(5), today, false), 0, 0).size(),
+                repo.count(new TaskFilter(null, today.minusDays(5), today, false)));
+    }
 }
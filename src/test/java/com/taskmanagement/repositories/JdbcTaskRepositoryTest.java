@@ -0,0 +1,97 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link InMemoryTaskRepositoryTest} case against a fresh embedded H2 database,
+ * plus checks specific to a durable store.
+ */
+class JdbcTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    private HikariDataSource dataSource;
+
+    @Override
+    TaskRepository newRepository() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:tasks-" + UUID.randomUUID());
+        dataSource.setMaximumPoolSize(4);
+        return new JdbcTaskRepository(dataSource);
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    @Test
+    void reopening_keepsTasksAndContinuesVersions() {
+        Task saved = repo.save(new Task("1", "Persisted", "text", TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(3)));
+        repo.save(new Task("2", "Undated", null, TaskStatus.PENDING, null));
+
+        JdbcTaskRepository reopened = new JdbcTaskRepository(dataSource);
+
+        Task restored = reopened.findById("1").orElseThrow();
+        assertEquals("Persisted", restored.getTitle());
+        assertEquals(saved.getDueDate(), restored.getDueDate());
+        assertEquals(saved.getVersion(), restored.getVersion());
+        assertNull(reopened.findById("2").orElseThrow().getDueDate());
+        assertTrue(reopened.save(new Task("3", "Next", null, TaskStatus.PENDING, null)).getVersion()
+                > repo.findById("2").orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveAll_updatesExistingRowsAndInsertsNewOnesInOneBatch() {
+        repo.save(new Task("a", "Old", null, TaskStatus.PENDING, null));
+
+        List<Task> saved = repo.saveAll(List.of(
+                new Task("a", "New", null, TaskStatus.DONE, null),
+                new Task("b", "Fresh", null, TaskStatus.PENDING, null)));
+
+        assertEquals("New", repo.findById("a").orElseThrow().getTitle());
+        assertEquals(saved.get(1).getVersion(), repo.findById("b").orElseThrow().getVersion());
+        assertEquals(1, repo.countByStatus(TaskStatus.DONE));
+        assertEquals(2, repo.count(TaskFilter.ALL));
+    }
+
+    @Test
+    void saveAll_ofNothingIsNotAModification() {
+        repo.save(new Task("a", "Old", null, TaskStatus.PENDING, null));
+        long before = repo.modificationCount();
+
+        assertTrue(repo.saveAll(List.of()).isEmpty());
+
+        assertEquals(before, repo.modificationCount());
+    }
+
+    @Test
+    void stream_readsRowsLazilyAndReleasesTheConnectionOnClose() {
+        for (int i = 0; i < 2000; i++) {
+            repo.save(new Task(String.format("task-%04d", i), "Task", null, TaskStatus.PENDING,
+                    LocalDate.now().plusDays(i % 30 + 1)));
+        }
+
+        for (int round = 0; round < 10; round++) {
+            try (Stream<Task> tasks = repo.stream(null, null, null)) {
+                Iterator<Task> iterator = tasks.iterator();
+                assertNotNull(iterator.next());
+            }
+        }
+        assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+        try (Stream<Task> tasks = repo.stream(TaskStatus.PENDING, null, null)) {
+            assertEquals(2000, tasks.count());
+        }
+    }
+}
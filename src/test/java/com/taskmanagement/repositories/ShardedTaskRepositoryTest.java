@@ -0,0 +1,83 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link InMemoryTaskRepositoryTest} case against four shards, plus checks that
+ * merged reads match a single store holding the same tasks.
+ */
+class ShardedTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    @Override
+    TaskRepository newRepository() {
+        return new ShardedTaskRepository(List.of(new InMemoryTaskRepository(), new InMemoryTaskRepository(),
+                new InMemoryTaskRepository(), new InMemoryTaskRepository()));
+    }
+
+    @Test
+    void mergedReads_matchASingleStore() {
+        TaskRepository single = new InMemoryTaskRepository();
+        Random random = new Random(7);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 2000; i++) {
+            Task task = new Task("task-" + i, i % 7 == 0 ? "Fix bug" : "Write docs", null,
+                    TaskStatus.values()[random.nextInt(3)],
+                    random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(60) - 10));
+            repo.save(task);
+            single.save(task);
+        }
+
+        List<TaskFilter> filters = List.of(TaskFilter.ALL, TaskFilter.of(TaskStatus.PENDING),
+                new TaskFilter(null, null, null, true), new TaskFilter(TaskStatus.DONE, today, today.plusDays(20), false));
+        for (TaskFilter filter : filters) {
+            assertEquals(ids(single.findAll(filter, 0, 0)), ids(repo.findAll(filter, 0, 0)));
+            assertEquals(ids(single.findAll(filter, 7, 30)), ids(repo.findAll(filter, 7, 30)));
+            assertEquals(single.count(filter), repo.count(filter));
+
+            List<Task> first = single.findAll(filter, 0, 50);
+            TaskCursor cursor = TaskCursor.after(first.getLast());
+            assertEquals(ids(single.findAllAfter(filter, cursor, 50)), ids(repo.findAllAfter(filter, cursor, 50)));
+        }
+        assertEquals(ids(single.stream(TaskStatus.IN_PROGRESS, today, null).toList()),
+                ids(repo.stream(TaskStatus.IN_PROGRESS, today, null).toList()));
+        assertEquals(ids(single.search("fix", null, 25)), ids(repo.search("fix", null, 25)));
+        assertArrayEquals(single.countOpenByDueDate(today, 30), repo.countOpenByDueDate(today, 30));
+    }
+
+    @Test
+    void bulkOperations_keepTheCallersOrderAcrossShards() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new Task("bulk-" + i, "T" + i, null, TaskStatus.PENDING, null));
+        }
+        List<Task> saved = repo.saveAll(tasks);
+        assertEquals(ids(tasks), ids(saved));
+
+        List<TaskReplacement> replacements = new ArrayList<>();
+        for (int i = 0; i < saved.size(); i++) {
+            long expected = i % 2 == 0 ? saved.get(i).getVersion() : saved.get(i).getVersion() + 1;
+            replacements.add(new TaskReplacement(expected, new Task("bulk-" + i, "R" + i, null, TaskStatus.DONE, null)));
+        }
+        List<Optional<Task>> replaced = repo.replaceAll(replacements);
+        for (int i = 0; i < replaced.size(); i++) {
+            assertEquals(i % 2 == 0, replaced.get(i).isPresent());
+        }
+        assertEquals(10, repo.countByStatus(TaskStatus.DONE));
+    }
+
+    private static List<String> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
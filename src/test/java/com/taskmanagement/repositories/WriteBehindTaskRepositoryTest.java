@@ -0,0 +1,145 @@
+package com.taskmanagement.repositories;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link InMemoryTaskRepositoryTest} case through the write-behind decorator,
+ * plus checks of what reaches the durable store and when.
+ */
+class WriteBehindTaskRepositoryTest extends InMemoryTaskRepositoryTest {
+
+    private final List<WriteBehindTaskRepository> opened = new ArrayList<>();
+
+    @Override
+    TaskRepository newRepository() {
+        return open(new RecordingRepository(), 1000, 100, Duration.ofMillis(10), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void closeRepositories() {
+        opened.forEach(WriteBehindTaskRepository::close);
+    }
+
+    @Test
+    void flush_coalescesRepeatedWritesIntoOneDurableWrite() {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindTaskRepository store = open(durable, 100, 100, Duration.ofHours(1), Duration.ZERO);
+
+        Task task = store.save(new Task("1", "First", null, TaskStatus.PENDING, null));
+        store.replace(task.getVersion(), new Task("1", "Second", null, TaskStatus.DONE, null));
+        store.save(new Task("2", "Short-lived", null, TaskStatus.PENDING, null));
+        store.deleteById("2");
+
+        assertTrue(durable.findById("1").isEmpty());
+        assertEquals(2, store.pending());
+
+        store.flush();
+
+        assertEquals(0, store.pending());
+        assertEquals("Second", durable.findById("1").orElseThrow().getTitle());
+        assertTrue(durable.findById("2").isEmpty());
+        assertEquals(List.of(1), durable.savedBatchSizes);
+    }
+
+    @Test
+    void writes_areFlushedInTheBackgroundAndOnClose() throws InterruptedException {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindTaskRepository store = open(durable, 100, 2, Duration.ofHours(1), Duration.ZERO);
+
+        store.save(new Task("1", "A", null, TaskStatus.PENDING, null));
+        store.save(new Task("2", "B", null, TaskStatus.PENDING, null));
+        for (int i = 0; i < 200 && durable.findById("2").isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(durable.findById("1").isPresent(), "a full batch is flushed without waiting for the interval");
+
+        store.save(new Task("3", "C", null, TaskStatus.PENDING, null));
+        store.close();
+
+        assertTrue(durable.findById("3").isPresent());
+        assertThrows(IllegalStateException.class, () -> store.save(new Task("4", "D", null, TaskStatus.PENDING, null)));
+    }
+
+    @Test
+    void reserve_rejectsWritesOnceTheQueueIsFullForLongerThanTheMaxWait() {
+        WriteBehindTaskRepository store = open(new RecordingRepository(), 2, 100, Duration.ofHours(1), Duration.ofMillis(20));
+        store.save(new Task("1", "A", null, TaskStatus.PENDING, null));
+        store.save(new Task("2", "B", null, TaskStatus.PENDING, null));
+
+        store.save(new Task("2", "B again", null, TaskStatus.PENDING, null));
+        assertThrows(IllegalStateException.class, () -> store.save(new Task("3", "C", null, TaskStatus.PENDING, null)));
+        assertTrue(store.findById("3").isEmpty());
+
+        store.flush();
+        store.save(new Task("3", "C", null, TaskStatus.PENDING, null));
+    }
+
+    @Test
+    void flush_keepsFailedBatchesPendingUntilTheDurableStoreRecovers() {
+        RecordingRepository durable = new RecordingRepository();
+        WriteBehindTaskRepository store = open(durable, 100, 100, Duration.ofHours(1), Duration.ZERO);
+        store.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+
+        durable.failing.set(true);
+        assertThrows(IllegalStateException.class, store::flush);
+        assertEquals(1, store.pending());
+
+        durable.failing.set(false);
+        store.flush();
+        assertTrue(durable.findById("1").isPresent());
+        assertTrue(scrape(store).contains("task_write_behind_flush_failures_total 1\n"));
+        assertTrue(scrape(store).contains("task_write_behind_flush_duration_seconds_count 1\n"));
+    }
+
+    @Test
+    void construction_loadsTheDurableStore() {
+        RecordingRepository durable = new RecordingRepository();
+        durable.save(new Task("1", "Persisted", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(2)));
+
+        WriteBehindTaskRepository store = open(durable, 100, 100, Duration.ofHours(1), Duration.ZERO);
+
+        assertEquals("Persisted", store.findById("1").orElseThrow().getTitle());
+        assertEquals(1, store.countByStatus(TaskStatus.IN_PROGRESS));
+        assertEquals(0, store.pending());
+    }
+
+    private WriteBehindTaskRepository open(TaskRepository durable, int capacity, int batchSize,
+                                           Duration flushInterval, Duration maxWait) {
+        WriteBehindTaskRepository store = new WriteBehindTaskRepository(new InMemoryTaskRepository(), durable,
+                capacity, batchSize, flushInterval, maxWait);
+        opened.add(store);
+        return store;
+    }
+
+    private static String scrape(WriteBehindTaskRepository store) {
+        StringBuilder out = new StringBuilder();
+        store.writeMetrics(out);
+        return out.toString();
+    }
+
+    private static final class RecordingRepository extends InMemoryTaskRepository {
+
+        final List<Integer> savedBatchSizes = new ArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public List<Task> saveAll(List<Task> tasks) {
+            if (failing.get()) {
+                throw new IllegalStateException("Durable store unavailable");
+            }
+            savedBatchSizes.add(tasks.size());
+            return super.saveAll(tasks);
+        }
+    }
+}
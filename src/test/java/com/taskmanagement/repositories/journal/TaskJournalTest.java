@@ -0,0 +1,120 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private TaskJournal open(JournalDurability durability) {
+        return new TaskJournal(dir, durability, Duration.ofMillis(5), 1024 * 1024, 1024);
+    }
+
+    @Test
+    void replay_restoresSavesUpdatesAndDeletes() {
+        try (TaskJournal journal = open(JournalDurability.SYNC)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+            repo.save(new Task("1", "A", "first", TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+            repo.save(new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+            repo.replace(1, new Task("1", "A2", "first", TaskStatus.DONE, LocalDate.now().plusDays(3)));
+            repo.deleteById("2");
+        }
+
+        try (TaskJournal journal = open(JournalDurability.SYNC)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+
+            assertTrue(repo.findById("2").isEmpty());
+            Task restored = repo.findById("1").orElseThrow();
+            assertEquals("A2", restored.getTitle());
+            assertEquals("first", restored.getDescription());
+            assertEquals(TaskStatus.DONE, restored.getStatus());
+            assertEquals(LocalDate.now().plusDays(3), restored.getDueDate());
+            assertEquals(3, restored.getVersion());
+            assertEquals(1, repo.findAll(TaskFilter.of(TaskStatus.DONE), 0, 10).size());
+        }
+    }
+
+    @Test
+    void replay_ignoresTornTailRecord() throws IOException {
+        try (TaskJournal journal = open(JournalDurability.BUFFERED)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+            repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        }
+        Path segment;
+        try (var files = Files.list(dir)) {
+            segment = files.sorted().findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (TaskJournal journal = open(JournalDurability.BUFFERED)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+            assertEquals(1, repo.findAll(TaskFilter.ALL, 0, 10).size());
+            assertEquals("A", repo.findById("1").orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    void concurrentWriters_areAllDurable() throws Exception {
+        try (TaskJournal journal = open(JournalDurability.SYNC)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 400; i++) {
+                String id = String.valueOf(i);
+                pool.submit(() -> repo.save(new Task(id, "T" + id, null, TaskStatus.PENDING, LocalDate.now().plusDays(1))));
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        try (TaskJournal journal = open(JournalDurability.SYNC)) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+            List<Task> all = repo.findAll(TaskFilter.ALL, 0, 0);
+            assertEquals(400, all.size());
+        }
+    }
+
+    @Test
+    void failedAppend_leavesStoreAndIndexesUnchanged() {
+        TaskJournal journal = open(JournalDurability.BUFFERED);
+        InMemoryTaskRepository repo = new InMemoryTaskRepository(journal);
+        Task kept = repo.save(new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1)));
+        repo.save(new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2)));
+        journal.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> repo.save(new Task("3", "C", null, TaskStatus.DONE, LocalDate.now().plusDays(3))));
+        assertThrows(IllegalStateException.class,
+                () -> repo.replace(kept.getVersion(), new Task("1", "A2", null, TaskStatus.DONE, null)));
+        assertThrows(IllegalStateException.class, () -> repo.deleteById("2"));
+
+        assertTrue(repo.findById("3").isEmpty());
+        assertEquals(kept.getVersion(), repo.findById("1").orElseThrow().getVersion());
+        assertTrue(repo.findById("2").isPresent());
+        assertEquals(List.of("1", "2"), repo.findAll(TaskFilter.ALL, 0, 0).stream().map(Task::getId).toList());
+        assertEquals(2, repo.findAll(TaskFilter.of(TaskStatus.PENDING), 0, 0).size());
+        assertEquals(2, repo.count(TaskFilter.ALL));
+        assertEquals(2, repo.countByStatus(TaskStatus.PENDING));
+        assertEquals(0, repo.countByStatus(TaskStatus.DONE));
+        assertEquals(List.of("1"), repo.search("A", null, 10).stream().map(Task::getId).toList());
+        assertTrue(repo.search("C", null, 10).isEmpty());
+    }
+}
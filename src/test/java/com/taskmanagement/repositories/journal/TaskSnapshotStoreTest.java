@@ -0,0 +1,100 @@
+package com.taskmanagement.repositories.journal;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskFilter;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private TaskJournal openJournal() {
+        return new TaskJournal(dir.resolve("journal"), JournalDurability.SYNC, Duration.ofMillis(5), 1024 * 1024, 1024);
+    }
+
+    private TaskSnapshotStore openSnapshots() {
+        return new TaskSnapshotStore(dir.resolve("snapshots"));
+    }
+
+    @Test
+    void writeAndRestore_roundTripsAllFields() {
+        TaskSnapshotStore store = openSnapshots();
+        List<Task> tasks = List.of(
+                new Task("1", "Shared", "first", TaskStatus.PENDING, LocalDate.now().plusDays(1), 3),
+                new Task("2", "Shared", null, TaskStatus.DONE, null, 7),
+                new Task("3", "Ünïcode", "", TaskStatus.IN_PROGRESS, LocalDate.of(2030, 1, 1), 9)
+        );
+
+        store.write(4, 9, tasks);
+
+        ConcurrentMap<String, Task> restored = new ConcurrentHashMap<>();
+        TaskSnapshotStore.SnapshotInfo info = store.restoreLatest(t -> restored.put(t.getId(), t)).orElseThrow();
+
+        assertEquals(4, info.journalSegment());
+        assertEquals(9, info.generation());
+        assertEquals(3, info.taskCount());
+        assertEquals(3, restored.size());
+        for (Task expected : tasks) {
+            Task actual = restored.get(expected.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getDueDate(), actual.getDueDate());
+            assertEquals(expected.getVersion(), actual.getVersion());
+        }
+    }
+
+    @Test
+    void restoreLatest_noSnapshot_returnsEmpty() {
+        assertTrue(openSnapshots().restoreLatest(t -> fail("unexpected task")).isEmpty());
+    }
+
+    @Test
+    void checkpoint_thenRestart_combinesSnapshotAndNewerJournal() throws IOException {
+        try (TaskJournal journal = openJournal()) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal, openSnapshots());
+            for (int i = 0; i < 200; i++) {
+                repo.save(new Task(String.valueOf(i), "T" + (i % 10), null, TaskStatus.PENDING, LocalDate.now().plusDays(i % 30 + 1)));
+            }
+            repo.checkpoint();
+
+            repo.deleteById("0");
+            repo.save(new Task("1", "Updated", null, TaskStatus.DONE, LocalDate.now().plusDays(5)));
+            repo.save(new Task("new", "Fresh", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(2)));
+        }
+
+        try (var segments = Files.list(dir.resolve("journal"))) {
+            assertTrue(segments.count() <= 3, "segments covered by the snapshot are removed");
+        }
+
+        try (TaskJournal journal = openJournal()) {
+            InMemoryTaskRepository repo = new InMemoryTaskRepository(journal, openSnapshots());
+
+            assertEquals(200, repo.findAll(TaskFilter.ALL, 0, 0).size());
+            assertTrue(repo.findById("0").isEmpty());
+            assertEquals("Updated", repo.findById("1").orElseThrow().getTitle());
+            assertEquals(TaskStatus.IN_PROGRESS, repo.findById("new").orElseThrow().getStatus());
+            assertEquals(1, repo.findAll(TaskFilter.of(TaskStatus.DONE), 0, 10).size());
+
+            // Versions keep growing after a restart
+            Task before = repo.findById("new").orElseThrow();
+            Task after = repo.save(new Task("new", "Again", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(2)));
+            assertTrue(after.getVersion() > before.getVersion());
+        }
+    }
+}
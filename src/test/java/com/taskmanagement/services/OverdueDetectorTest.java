@@ -0,0 +1,103 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverdueDetectorTest {
+
+    private final LocalDate today = LocalDate.now();
+
+    private InMemoryTaskRepository repository;
+    private TaskChangeFeed feed;
+    private TaskMetrics metrics;
+    private TaskServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        feed = new TaskChangeFeed(1024);
+        metrics = new TaskMetrics(repository);
+        service = new TaskServiceImpl(repository, new UlidTaskIdGenerator(), metrics, feed);
+    }
+
+    @Test
+    void poll_announcesTasksOnlyOnceTheirDueDatePasses() {
+        OverdueDetector detector = new OverdueDetector(repository, service, feed, metrics, null);
+        detector.poll(today);
+        Task soon = service.create(task(today.plusDays(1)));
+        Task later = service.create(task(today.plusDays(3)));
+        long before = feed.lastSequence();
+
+        assertEquals(0, detector.poll(today.plusDays(1)));
+        assertEquals(1, detector.poll(today.plusDays(2)));
+        assertEquals(0, detector.poll(today.plusDays(2)));
+
+        List<TaskChange> changes = feed.readAfter(before, 10);
+        assertEquals(1, changes.size());
+        assertEquals(TaskChange.Type.OVERDUE, changes.get(0).type());
+        assertEquals(soon.getId(), changes.get(0).id());
+        assertEquals(TaskStatus.PENDING, repository.findById(soon.getId()).orElseThrow().getStatus());
+        assertEquals(1, detector.scheduled());
+        assertTrue(metrics.scrape().contains("task_overdue_detected_total 1\n"));
+
+        assertEquals(1, detector.poll(today.plusDays(10)));
+        assertEquals(later.getId(), feed.readAfter(before, 10).get(1).id());
+    }
+
+    @Test
+    void poll_followsUpdatesAndDeletes() {
+        OverdueDetector detector = new OverdueDetector(repository, service, feed, metrics, null);
+        detector.poll(today);
+        Task moved = service.create(task(today.plusDays(1)));
+        Task done = service.create(task(today.plusDays(1)));
+        Task deleted = service.create(task(today.plusDays(1)));
+
+        service.update(moved.getId(), new Task(null, null, null, null, today.plusDays(5)));
+        service.update(done.getId(), new Task(null, null, null, TaskStatus.DONE, null));
+        service.delete(deleted.getId());
+
+        assertEquals(0, detector.poll(today.plusDays(2)));
+        assertEquals(1, detector.poll(today.plusDays(6)));
+    }
+
+    @Test
+    void poll_movesOverdueTasksToTheConfiguredStatus() {
+        OverdueDetector detector = new OverdueDetector(repository, service, feed, metrics, TaskStatus.IN_PROGRESS);
+        detector.poll(today);
+        Task task = service.create(task(today.plusDays(1)));
+
+        assertEquals(1, detector.poll(today.plusDays(2)));
+
+        Task stored = repository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(task.getVersion() + 1, stored.getVersion());
+        assertTrue(metrics.scrape().contains("task_overdue_transitions_total 1\n"));
+        assertEquals(0, detector.poll(today.plusDays(3)));
+    }
+
+    @Test
+    void poll_rebuildsFromTheStoreWhenTheFeedOverranIt() {
+        feed = new TaskChangeFeed(4);
+        service = new TaskServiceImpl(repository, new UlidTaskIdGenerator(), metrics, feed);
+        OverdueDetector detector = new OverdueDetector(repository, service, feed, metrics, null);
+        detector.poll(today);
+        for (int i = 0; i < 10; i++) {
+            service.create(task(today.plusDays(1)));
+        }
+
+        assertEquals(10, detector.poll(today.plusDays(2)));
+    }
+
+    private static Task task(LocalDate dueDate) {
+        return new Task(null, "Task", null, TaskStatus.PENDING, dueDate);
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmanagement.services;
+
+import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskChangeFeedTest {
+
+    @Test
+    void readAfter_returnsChangesInSequenceOrder() {
+        TaskChangeFeed feed = new TaskChangeFeed(8);
+        long before = feed.lastSequence();
+        Task task = new Task("1", "A", null, TaskStatus.PENDING, null, 1);
+
+        feed.created(task);
+        feed.updated(task.withVersion(2));
+        feed.deleted("1", 2);
+
+        List<TaskChange> changes = feed.readAfter(before, 10);
+        assertEquals(List.of(TaskChange.Type.CREATED, TaskChange.Type.UPDATED, TaskChange.Type.DELETED),
+                changes.stream().map(TaskChange::type).toList());
+        assertEquals(before + 1, changes.get(0).sequence());
+        assertEquals(2, changes.get(1).version());
+        assertNull(changes.get(2).task());
+
+        assertEquals(2, feed.readAfter(before, 2).size());
+        assertEquals(List.of(), feed.readAfter(feed.lastSequence(), 10));
+    }
+
+    @Test
+    void readAfter_signalsResyncOnceChangesAreOverwritten() {
+        TaskChangeFeed feed = new TaskChangeFeed(4);
+        long before = feed.lastSequence();
+        for (int i = 0; i < 5; i++) {
+            feed.deleted(Integer.toString(i), 1);
+        }
+
+        assertNull(feed.readAfter(before, 10));
+        assertEquals(4, feed.readAfter(before + 1, 10).size());
+    }
+
+    @Test
+    void readAfter_signalsResyncForSequencesNotIssuedByTheFeed() {
+        TaskChangeFeed feed = new TaskChangeFeed(4);
+
+        assertNull(feed.readAfter(1, 10));
+        assertNull(feed.readAfter(feed.lastSequence() + 1, 10));
+    }
+
+    @Test
+    void onChange_runsAfterEveryChange() {
+        TaskChangeFeed feed = new TaskChangeFeed(4);
+        AtomicInteger calls = new AtomicInteger();
+        feed.onChange(calls::incrementAndGet);
+
+        feed.deleted("1", 1);
+        feed.deleted("2", 1);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void constructor_rejectsCapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskChangeFeed(100));
+    }
+}
@@ -1,15 +1,22 @@
 package com.taskmanagement.services;
 
 import com.taskmanagement.domain.Task;
+import com.taskmanagement.domain.TaskCursor;
+import com.taskmanagement.domain.TaskFilter;
 import com.taskmanagement.domain.TaskStatus;
 import com.taskmanagement.exceptions.TaskNotFoundException;
+import com.taskmanagement.exceptions.TaskVersionConflictException;
+import com.taskmanagement.metrics.TaskMetrics;
+import com.taskmanagement.repositories.TaskReplacement;
 import com.taskmanagement.repositories.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -17,12 +24,14 @@ import static org.mockito.Mockito.*;
 class TaskServiceImplTest {
 
     private TaskRepository repository;
+    private TaskChangeFeed changes;
     private TaskServiceImpl service;
 
     @BeforeEach
     void setUp() {
         repository = mock(TaskRepository.class);
-        service = new TaskServiceImpl(repository);
+        changes = new TaskChangeFeed(1024);
+        service = new TaskServiceImpl(repository, new UlidTaskIdGenerator(), new TaskMetrics(repository), changes);
     }
 
     // -------------------- CREATE --------------------
@@ -81,9 +90,10 @@ class TaskServiceImplTest {
 
     @Test
     void update_existingTask_updatesFields() {
-        Task existing = new Task("1", "Old", "OldDesc", TaskStatus.PENDING, LocalDate.now().plusDays(2));
+        Task existing = new Task("1", "Old", "OldDesc", TaskStatus.PENDING, LocalDate.now().plusDays(2), 1);
         when(repository.findById("1")).thenReturn(Optional.of(existing));
-        when(repository.save(any(Task.class))).thenReturn(existing);
+        when(repository.replace(eq(1L), any(Task.class)))
+                .thenAnswer(inv -> Optional.of(inv.getArgument(1, Task.class).withVersion(2)));
 
         Task updates = new Task(null, "New", null, TaskStatus.IN_PROGRESS, LocalDate.now().plusDays(3));
         Task result = service.update("1", updates);
@@ -92,7 +102,35 @@ class TaskServiceImplTest {
         assertEquals("OldDesc", result.getDescription()); // unchanged
         assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
         assertEquals(LocalDate.now().plusDays(3), result.getDueDate());
-        verify(repository, times(1)).save(existing);
+        assertEquals(2, result.getVersion());
+        assertEquals("Old", existing.getTitle()); // stored snapshot is never mutated
+        verify(repository, times(1)).replace(eq(1L), any(Task.class));
+    }
+
+    @Test
+    void update_concurrentModification_retriesOnLatestVersion() {
+        Task v1 = new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2), 1);
+        Task v2 = new Task("1", "Other", "Desc", TaskStatus.DONE, LocalDate.now().plusDays(2), 2);
+        when(repository.findById("1")).thenReturn(Optional.of(v1), Optional.of(v2));
+        when(repository.replace(eq(1L), any(Task.class))).thenReturn(Optional.empty());
+        when(repository.replace(eq(2L), any(Task.class)))
+                .thenAnswer(inv -> Optional.of(inv.getArgument(1, Task.class).withVersion(3)));
+
+        Task result = service.update("1", new Task(null, "New", null, null, null));
+
+        assertEquals("New", result.getTitle());
+        assertEquals(TaskStatus.DONE, result.getStatus()); // concurrent change preserved
+        assertEquals(3, result.getVersion());
+    }
+
+    @Test
+    void update_staleExpectedVersion_throwsConflict() {
+        Task existing = new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2), 2);
+        when(repository.findById("1")).thenReturn(Optional.of(existing));
+
+        Task updates = new Task(null, "New", null, null, null);
+        assertThrows(TaskVersionConflictException.class, () -> service.update("1", updates, 1L));
+        verify(repository, never()).replace(anyLong(), any());
     }
 
     @Test
@@ -111,27 +149,32 @@ class TaskServiceImplTest {
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                 () -> service.update("1", updates));
         assertEquals("Due date must be in the future", ex.getMessage());
-        verify(repository, never()).save(any());
+        verify(repository, never()).replace(anyLong(), any());
     }
 
     // -------------------- DELETE --------------------
 
     @Test
-    void delete_existingTask_deletes() {
-        Task t = new Task("1", "Title", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(1));
-        when(repository.findById("1")).thenReturn(Optional.of(t));
-        doNothing().when(repository).deleteById("1");
+    void delete_existingTask_deletesAndPublishesTheDeletionVersion() {
+        when(repository.deleteById("1")).thenReturn(OptionalLong.of(7));
+        long before = changes.lastSequence();
 
         service.delete("1");
 
         verify(repository, times(1)).deleteById("1");
+        List<TaskChange> published = changes.readAfter(before, 10);
+        assertEquals(1, published.size());
+        assertEquals(TaskChange.Type.DELETED, published.get(0).type());
+        assertEquals(7, published.get(0).version());
     }
 
     @Test
     void delete_missingTask_throwsNotFound() {
-        when(repository.findById("1")).thenReturn(Optional.empty());
+        when(repository.deleteById("1")).thenReturn(OptionalLong.empty());
+        long before = changes.lastSequence();
+
         assertThrows(TaskNotFoundException.class, () -> service.delete("1"));
-        verify(repository, never()).deleteById(any());
+        assertEquals(List.of(), changes.readAfter(before, 10));
     }
 
     // -------------------- LIST --------------------
@@ -140,12 +183,163 @@ class TaskServiceImplTest {
     void list_returnsTasks() {
         Task t1 = new Task("1", "A", null, TaskStatus.PENDING, LocalDate.now().plusDays(1));
         Task t2 = new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2));
-        when(repository.findAll(null, 0, 10)).thenReturn(List.of(t1, t2));
+        when(repository.findAll(TaskFilter.ALL, 0, 10)).thenReturn(List.of(t1, t2));
 
-        List<Task> result = service.list(null, 0, 10);
+        List<Task> result = service.list(TaskFilter.ALL, 0, 10);
 
         assertEquals(2, result.size());
         assertEquals("1", result.get(0).getId());
-        verify(repository, times(1)).findAll(null, 0, 10);
+        verify(repository, times(1)).findAll(TaskFilter.ALL, 0, 10);
+    }
+
+    @Test
+    void list_withCursor_delegatesToKeysetQuery() {
+        TaskCursor cursor = new TaskCursor(LocalDate.now().plusDays(1), "1");
+        Task t2 = new Task("2", "B", null, TaskStatus.PENDING, LocalDate.now().plusDays(2));
+        when(repository.findAllAfter(TaskFilter.of(TaskStatus.PENDING), cursor, 10)).thenReturn(List.of(t2));
+
+        List<Task> result = service.list(TaskFilter.of(TaskStatus.PENDING), cursor, 10);
+
+        assertEquals(1, result.size());
+        assertEquals("2", result.get(0).getId());
+        verify(repository, times(1)).findAllAfter(TaskFilter.of(TaskStatus.PENDING), cursor, 10);
+    }
+
+    @Test
+    void list_rejectsEmptyDueDateRange() {
+        LocalDate day = LocalDate.now().plusDays(3);
+        TaskFilter filter = new TaskFilter(null, day, day.minusDays(1), false);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.list(filter, 0, 10));
+        assertEquals("dueAfter must be before dueBefore", ex.getMessage());
+        verify(repository, never()).findAll(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void statistics_combinesCounters() {
+        when(repository.countByStatus(TaskStatus.PENDING)).thenReturn(3L);
+        when(repository.countByStatus(TaskStatus.IN_PROGRESS)).thenReturn(2L);
+        when(repository.countByStatus(TaskStatus.DONE)).thenReturn(5L);
+        when(repository.count(new TaskFilter(null, null, null, true))).thenReturn(1L);
+        when(repository.countOpenByDueDate(any(), eq(2))).thenReturn(new long[]{1, 2});
+        when(repository.countOpenByDueDate(any(), eq(14))).thenReturn(new long[]{1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 4});
+
+        TaskStatistics stats = service.statistics(2, 2);
+
+        assertEquals(10, stats.total());
+        assertEquals(5L, stats.byStatus().get(TaskStatus.DONE));
+        assertEquals(1, stats.overdue());
+        assertEquals(List.of(1L, 2L), List.copyOf(stats.dueByDay().values()));
+        assertEquals(LocalDate.now(), stats.dueByDay().firstKey());
+        assertEquals(List.of(7L, 4L), List.copyOf(stats.dueByWeek().values()));
+        assertEquals(DayOfWeek.MONDAY, stats.dueByWeek().firstKey().getDayOfWeek());
+    }
+
+    @Test
+    void statistics_rejectsOversizedWindows() {
+        assertThrows(IllegalArgumentException.class, () -> service.statistics(367, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.statistics(1, -1));
+    }
+
+    // -------------------- BULK --------------------
+
+    @Test
+    void createAll_rejectsInvalidItemsAndSavesTheRestInOneCall() {
+        Task valid = new Task(null, "A", null, null, LocalDate.now().plusDays(1));
+        Task pastDue = new Task(null, "B", null, null, LocalDate.now().minusDays(1));
+        when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BatchResult> results = service.createAll(List.of(valid, pastDue));
+
+        assertTrue(results.get(0).isSuccess());
+        assertNotNull(results.get(0).id());
+        assertEquals(TaskStatus.PENDING, results.get(0).task().getStatus());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Due date must be in the future", results.get(1).error().getMessage());
+        verify(repository, times(1)).saveAll(argThat(tasks -> tasks.size() == 1));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void updateAll_reportsPerItemOutcome() {
+        Task existing = new Task("1", "Old", "Desc", TaskStatus.PENDING, LocalDate.now().plusDays(2), 4);
+        when(repository.findById("1")).thenReturn(Optional.of(existing));
+        when(repository.findById("missing")).thenReturn(Optional.empty());
+        when(repository.replaceAll(anyList())).thenAnswer(inv -> {
+            List<TaskReplacement> replacements = inv.getArgument(0);
+            return replacements.stream().map(r -> Optional.of(r.next().withVersion(5))).toList();
+        });
+
+        List<BatchResult> results = service.updateAll(List.of(
+                new TaskUpdate("1", new Task(null, "New", null, null, null), null),
+                new TaskUpdate("missing", new Task(null, "X", null, null, null), null),
+                new TaskUpdate("1", new Task(null, "Stale", null, null, null), 3L)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("New", results.get(0).task().getTitle());
+        assertInstanceOf(TaskNotFoundException.class, results.get(1).error());
+        assertInstanceOf(TaskVersionConflictException.class, results.get(2).error());
+        verify(repository, times(1)).replaceAll(argThat(r -> r.size() == 1));
+    }
+
+    @Test
+    void deleteAll_deletesExistingAndReportsMissing() {
+        when(repository.deleteAllById(List.of("1", "2", "1")))
+                .thenReturn(List.of(OptionalLong.of(5), OptionalLong.empty(), OptionalLong.empty()));
+        long before = changes.lastSequence();
+
+        List<BatchResult> results = service.deleteAll(List.of("1", "2", "1"));
+
+        assertTrue(results.get(0).isSuccess());
+        assertInstanceOf(TaskNotFoundException.class, results.get(1).error());
+        assertInstanceOf(TaskNotFoundException.class, results.get(2).error(), "a repeated id is deleted once");
+        List<TaskChange> published = changes.readAfter(before, 10);
+        assertEquals(1, published.size());
+        assertEquals(TaskChange.Type.DELETED, published.get(0).type());
+        assertEquals(5, published.get(0).version());
+    }
+
+    // -------------------- EXPORT --------------------
+
+    @Test
+    void export_rejectsEmptyDueDateRange() {
+        LocalDate day = LocalDate.now().plusDays(3);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.export(null, day, day));
+        assertEquals("dueAfter must be before dueBefore", ex.getMessage());
+        verify(repository, never()).stream(any(), any(), any());
+    }
+
+    @Test
+    void modificationCount_comesFromRepository() {
+        when(repository.modificationCount()).thenReturn(42L);
+        assertEquals(42L, service.modificationCount());
+    }
+
+    @Test
+    void search_rejectsBlankQuery() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.search(" ", null, 10));
+        assertEquals("Search query must not be blank", ex.getMessage());
+        verify(repository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void writes_arePublishedToTheChangeFeed() {
+        long before = changes.lastSequence();
+        LocalDate due = LocalDate.now().plusDays(1);
+        Task saved = new Task("1", "Title", null, TaskStatus.PENDING, due, 1);
+        when(repository.save(any(Task.class))).thenReturn(saved);
+        when(repository.deleteById("1")).thenReturn(OptionalLong.of(2));
+
+        service.create(new Task(null, "Title", null, TaskStatus.PENDING, due));
+        service.delete("1");
+
+        List<TaskChange> published = changes.readAfter(before, 10);
+        assertEquals(List.of(TaskChange.Type.CREATED, TaskChange.Type.DELETED),
+                published.stream().map(TaskChange::type).toList());
+        assertEquals("1", published.get(1).id());
+        assertEquals(2, published.get(1).version());
     }
 }
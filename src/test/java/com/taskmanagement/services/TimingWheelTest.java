@@ -0,0 +1,64 @@
+package com.taskmanagement.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_expiresOnlyTheDaysPassed() {
+        TimingWheel wheel = new TimingWheel(100);
+        wheel.schedule("a", 100, 1);
+        wheel.schedule("b", 101, 1);
+        wheel.schedule("c", 102, 1);
+
+        assertEquals(List.of(), wheel.advanceTo(100));
+        assertEquals(List.of("a"), wheel.advanceTo(101));
+        assertEquals(List.of("b", "c"), wheel.advanceTo(103));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_cascadesDistantDaysThroughEveryLevel() {
+        TimingWheel wheel = new TimingWheel(10);
+        long[] days = {40, 70, 4_105, 5_000, 262_000, 300_000, 1_000_000};
+        for (long day : days) {
+            wheel.schedule(Long.toString(day), day, 1);
+        }
+
+        for (long day : days) {
+            assertEquals(List.of(), wheel.advanceTo(day), "before " + day);
+            assertEquals(List.of(Long.toString(day)), wheel.advanceTo(day + 1), "on " + day);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_movesAnEntryUnlessItComesFromAnOlderVersion() {
+        TimingWheel wheel = new TimingWheel(0);
+        wheel.schedule("a", 5, 2);
+        wheel.schedule("a", 3, 1);
+        wheel.schedule("b", 5, 1);
+        wheel.schedule("b", 80, 2);
+
+        assertEquals(List.of(), wheel.advanceTo(5));
+        assertEquals(List.of("a"), wheel.advanceTo(6));
+        assertEquals(List.of("b"), wheel.advanceTo(81));
+    }
+
+    @Test
+    void cancel_ignoresOlderVersionsAndPastDaysAreNotScheduled() {
+        TimingWheel wheel = new TimingWheel(10);
+        wheel.schedule("a", 20, 3);
+        wheel.cancel("a", 2);
+        wheel.schedule("b", 300_000, 1);
+        wheel.cancel("b", 1);
+        wheel.schedule("c", 9, 1);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("a"), wheel.advanceTo(400_000));
+    }
+}
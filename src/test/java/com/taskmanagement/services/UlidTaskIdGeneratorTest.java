@@ -0,0 +1,75 @@
+package com.taskmanagement.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UlidTaskIdGeneratorTest {
+
+    @Test
+    void nextId_encodesTimestampInFirstTenCharacters() {
+        UlidTaskIdGenerator generator = new UlidTaskIdGenerator(() -> 1_469_918_176_385L);
+
+        String id = generator.nextId();
+
+        assertEquals(26, id.length());
+        assertEquals("01ARYZ6S41", id.substring(0, 10));
+        assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]{26}"));
+    }
+
+    @Test
+    void nextId_isStrictlyIncreasingWithinOneMillisecond() {
+        UlidTaskIdGenerator generator = new UlidTaskIdGenerator(() -> 1_000L);
+
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, next + " <= " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_sortsByCreationTimeAndSurvivesClockGoingBack() {
+        AtomicLong clock = new AtomicLong(5_000L);
+        UlidTaskIdGenerator generator = new UlidTaskIdGenerator(clock::get);
+
+        List<String> ids = new ArrayList<>();
+        ids.add(generator.nextId());
+        clock.set(6_000L);
+        ids.add(generator.nextId());
+        clock.set(5_500L);
+        ids.add(generator.nextId());
+        clock.set(7_000L);
+        ids.add(generator.nextId());
+
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void nextId_isUniqueAcrossThreads() throws InterruptedException {
+        UlidTaskIdGenerator generator = new UlidTaskIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+}